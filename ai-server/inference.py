@@ -52,48 +52,28 @@ class SwinInference:
         pvr = float((np.sum(abs_res > threshold) / size) * 100.0)
         return rm, pvr
 
-    def predict(self, pil_image, original_filename):
-        # 1. 전처리
+    def _to_input(self, pil_image):
         image_rgb = pil_image.convert('RGB')
-        vis_image = image_rgb.resize((self.img_size, self.img_size))
-        rgb_img_float = np.array(vis_image, dtype=np.float32) / 255.0
-        input_tensor = self.transform(image_rgb).unsqueeze(0).to(self.device)
+        return self.transform(image_rgb).unsqueeze(0).to(self.device)
 
-        # 2. Grad-CAM용 Wrapper
-        class CAMWrapper(nn.Module):
-            def __init__(self, model):
-                super().__init__()
-                self.model = model
-            def forward(self, x):
-                return self.model(x)['logits']
+    def classify(self, pil_image):
+        # Grad-CAM 없이 판정/지표만 계산 (forward 1회)
+        input_tensor = self._to_input(pil_image)
 
-        # 3. Grad-CAM 설정 및 생성
-        target_layers = [self.model.backbone.layers[-1].blocks[-1].norm1]
-        cam = GradCAM(model=CAMWrapper(self.model), target_layers=target_layers, reshape_transform=self.reshape_transform)
-        
         with torch.no_grad():
             outputs = self.model(input_tensor)
-        
+
         logits = outputs['logits']
         pred_idx = torch.argmax(logits, dim=1).item()
         confidence = F.softmax(logits, dim=1)[0][pred_idx].item()
-        
-        # 4. 역정규화 및 지표 추출
+
+        # 역정규화 및 지표 추출
         ssim_val, lpips_val = outputs['ssim'].item(), outputs['lpips'].item()
         if self.stats:
             ssim_val = max(0.0, min(1.0, (ssim_val * self.stats['ssim_std']) + self.stats['ssim_mean']))
             lpips_val = max(0.0, (lpips_val * self.stats['lpips_std']) + self.stats['lpips_mean'])
 
-        # 5. 히트맵 이미지 저장
-        targets = [ClassifierOutputTarget(pred_idx)]
-        grayscale_cam = cam(input_tensor=input_tensor, targets=targets)[0, :]
-        visualization = show_cam_on_image(rgb_img_float, grayscale_cam, use_rgb=True)
-        
-        heatmap_filename = f"hm_{original_filename}"
-        heatmap_path = os.path.join(self.upload_dir, heatmap_filename)
-        cv2.imwrite(heatmap_path, cv2.cvtColor(visualization, cv2.COLOR_RGB2BGR))
-
-        # 6. RM/PVR 계산
+        # RM/PVR 계산
         rm, pvr = self._calc_rm_pvr(pil_image)
 
         return {
@@ -103,5 +83,42 @@ class SwinInference:
             "lpips": lpips_val,
             "rm": rm,
             "pvr": pvr,
-            "heatmap_filename": heatmap_filename
-        }
\ No newline at end of file
+        }
+
+    def heatmap(self, pil_image, label):
+        # 판정된 label 에 대한 Grad-CAM 히트맵을 PNG bytes 로 반환 (요청 시에만 호출)
+        image_rgb = pil_image.convert('RGB')
+        vis_image = image_rgb.resize((self.img_size, self.img_size))
+        rgb_img_float = np.array(vis_image, dtype=np.float32) / 255.0
+        input_tensor = self._to_input(image_rgb)
+
+        class CAMWrapper(nn.Module):
+            def __init__(self, model):
+                super().__init__()
+                self.model = model
+            def forward(self, x):
+                return self.model(x)['logits']
+
+        target_layers = [self.model.backbone.layers[-1].blocks[-1].norm1]
+        cam = GradCAM(model=CAMWrapper(self.model), target_layers=target_layers, reshape_transform=self.reshape_transform)
+
+        targets = [ClassifierOutputTarget(label)]
+        grayscale_cam = cam(input_tensor=input_tensor, targets=targets)[0, :]
+        visualization = show_cam_on_image(rgb_img_float, grayscale_cam, use_rgb=True)
+
+        ok, encoded = cv2.imencode(".png", cv2.cvtColor(visualization, cv2.COLOR_RGB2BGR))
+        if not ok:
+            raise RuntimeError("히트맵 PNG 인코딩에 실패했습니다.")
+        return encoded.tobytes()
+
+    def predict(self, pil_image, original_filename):
+        # 기존 /predict 호환용: 판정 + 히트맵 파일 저장
+        results = self.classify(pil_image)
+
+        heatmap_filename = f"hm_{original_filename}"
+        heatmap_path = os.path.join(self.upload_dir, heatmap_filename)
+        with open(heatmap_path, "wb") as f:
+            f.write(self.heatmap(pil_image, results["label"]))
+
+        results["heatmap_filename"] = heatmap_filename
+        return results
@@ -1,6 +1,7 @@
-from fastapi import FastAPI, HTTPException
+from fastapi import FastAPI, HTTPException, Request, Response
 from fastapi.middleware.cors import CORSMiddleware
 from inference import SwinInference
+import hashlib
 import io
 import os
 from pathlib import Path
@@ -22,6 +23,11 @@ app.add_middleware(
 class ImageUrlRequest(BaseModel):
     image_url: str
 
+
+class HeatmapRequest(BaseModel):
+    image_url: str
+    label: int
+
 # Runtime config
 UPLOAD_DIR = os.getenv("UPLOAD_DIR", "/app/uploads")
 MODEL_NAME = "swinv2_small_window16_256"
@@ -75,6 +81,23 @@ if not os.path.exists(UPLOAD_DIR):
 MODEL_PATH = resolve_model_path()
 engine = SwinInference(MODEL_PATH, MODEL_NAME, UPLOAD_DIR)
 
+
+def resolve_model_version(model_path: str) -> str:
+    # 명시한 버전이 없으면 가중치 파일 해시로 구분 (같은 sota.pth 면 같은 버전)
+    explicit = os.getenv("MODEL_VERSION")
+    if explicit:
+        return explicit
+
+    digest = hashlib.sha256()
+    with open(model_path, "rb") as f:
+        for chunk in iter(lambda: f.read(1024 * 1024), b""):
+            digest.update(chunk)
+    return f"{MODEL_NAME}@{digest.hexdigest()[:12]}"
+
+
+MODEL_VERSION = resolve_model_version(MODEL_PATH)
+print(f"[Model] version: {MODEL_VERSION}")
+
 RISK_TABLE = {
     0: {"name": "Real (원본)", "state": "Real"},
     1: {"name": "Sleek Fake (눈속임형)", "state": "Low Risk"},
@@ -89,6 +112,116 @@ s3_client = create_s3_client()
 def health_check():
     return {"status": "AI Server is Running"}
 
+@app.get("/model")
+def model_info():
+    return {"modelVersion": MODEL_VERSION}
+
+
+def load_image(image_url: str) -> Image.Image:
+    # S3 URL로 이미지 다운로드
+    response = requests.get(image_url, timeout=15)
+
+    if response.status_code != 200:
+        raise HTTPException(status_code=400, detail="이미지를 불러올 수 없습니다.")
+
+    return Image.open(io.BytesIO(response.content)).convert("RGB")
+
+
+def to_result(results: dict) -> dict:
+    info = RISK_TABLE[results["label"]]
+    return {
+        "label": results["label"],
+        "labelName": info["name"],
+        "state": info["state"],
+        "confidence": round(results["confidence"], 4),
+        "ssim": round(results["ssim"], 4),
+        "lpips": round(results["lpips"], 4),
+        "rm": round(results["rm"], 6),
+        "pvr": round(results["pvr"], 2),
+        "modelVersion": MODEL_VERSION,
+    }
+
+
+@app.post("/classify")
+async def classify(request: ImageUrlRequest):
+    # 판정만 수행 (Grad-CAM/S3 업로드 없음)
+    try:
+        image = load_image(request.image_url)
+        return to_result(engine.classify(image))
+    except HTTPException as e:
+        raise e
+    except Exception as e:
+        print(f"Error: {e}")
+        raise HTTPException(status_code=500, detail=str(e))
+
+
+@app.post("/heatmap")
+async def heatmap(request: HeatmapRequest):
+    # 사용자가 히트맵을 요청했을 때만 Grad-CAM 생성 후 S3 업로드
+    try:
+        if request.label not in RISK_TABLE:
+            raise HTTPException(status_code=400, detail="알 수 없는 label 입니다.")
+
+        if not IMAGE_BUCKET_NAME:
+            raise HTTPException(status_code=500, detail="S3_BUCKET_NAME이 설정되지 않았습니다.")
+
+        image = load_image(request.image_url)
+        png = engine.heatmap(image, request.label)
+
+        s3_heatmap_name = f"heatmap_{uuid4()}.png"
+        s3_client.upload_fileobj(
+            io.BytesIO(png),
+            IMAGE_BUCKET_NAME,
+            s3_heatmap_name,
+            ExtraArgs={'ContentType': 'image/png'}
+        )
+
+        return {"heatmapUrl": f"https://{IMAGE_BUCKET_NAME}.s3.ap-northeast-2.amazonaws.com/{s3_heatmap_name}"}
+    except HTTPException as e:
+        raise e
+    except Exception as e:
+        print(f"Error: {e}")
+        raise HTTPException(status_code=500, detail=str(e))
+
+
+def decode_image(content: bytes) -> Image.Image:
+    if not content:
+        raise HTTPException(status_code=400, detail="이미지 데이터가 비어 있습니다.")
+    try:
+        return Image.open(io.BytesIO(content)).convert("RGB")
+    except Exception:
+        raise HTTPException(status_code=400, detail="이미지를 해석할 수 없습니다.")
+
+
+@app.post("/classify/inline")
+async def classify_inline(request: Request):
+    # 요청 본문(application/octet-stream)으로 받은 이미지를 바로 판정 (S3 다운로드 없음)
+    try:
+        image = decode_image(await request.body())
+        return to_result(engine.classify(image))
+    except HTTPException as e:
+        raise e
+    except Exception as e:
+        print(f"Error: {e}")
+        raise HTTPException(status_code=500, detail=str(e))
+
+
+@app.post("/heatmap/inline")
+async def heatmap_inline(request: Request, label: int):
+    # 히트맵 PNG 를 응답 본문으로 그대로 반환 (저장은 호출 측에서 처리)
+    try:
+        if label not in RISK_TABLE:
+            raise HTTPException(status_code=400, detail="알 수 없는 label 입니다.")
+
+        image = decode_image(await request.body())
+        return Response(content=engine.heatmap(image, label), media_type="image/png")
+    except HTTPException as e:
+        raise e
+    except Exception as e:
+        print(f"Error: {e}")
+        raise HTTPException(status_code=500, detail=str(e))
+
+
 @app.post("/predict")
 async def predict(request: ImageUrlRequest):
     try:
@@ -0,0 +1,93 @@
+"""
+sota.pth 를 백엔드의 ONNX Runtime 엔진(inference.engine=onnx)용 ONNX 파일로 변환한다.
+
+    python scripts/export_onnx.py --model ./models/sota.pth --out ./models/sota.onnx
+
+- 입력: input [N, 3, 256, 256] (ImageNet 정규화된 RGB)
+- 출력: logits [N, 4], ssim [N, 1], lpips [N, 1]
+- 메타데이터: model_version (main.py 와 같은 규칙), stats (ssim/lpips 역정규화 값, JSON)
+"""
+import argparse
+import json
+import os
+import sys
+
+import torch
+import torch.nn as nn
+
+sys.path.insert(0, os.path.dirname(os.path.dirname(os.path.abspath(__file__))))
+
+from model_def import MultiTaskSwinV2  # noqa: E402
+
+MODEL_NAME = "swinv2_small_window16_256"
+IMG_SIZE = 256
+
+
+class ExportWrapper(nn.Module):
+    # dict 출력은 ONNX 로 내보낼 수 없으므로 순서가 고정된 tuple 로 변환
+    def __init__(self, model):
+        super().__init__()
+        self.model = model
+
+    def forward(self, x):
+        outputs = self.model(x)
+        return outputs["logits"], outputs["ssim"], outputs["lpips"]
+
+
+def model_version(model_path: str) -> str:
+    import hashlib
+
+    explicit = os.getenv("MODEL_VERSION")
+    if explicit:
+        return explicit
+
+    digest = hashlib.sha256()
+    with open(model_path, "rb") as f:
+        for chunk in iter(lambda: f.read(1024 * 1024), b""):
+            digest.update(chunk)
+    return f"{MODEL_NAME}@{digest.hexdigest()[:12]}"
+
+
+def main():
+    parser = argparse.ArgumentParser()
+    parser.add_argument("--model", default=os.getenv("MODEL_PATH", "./models/sota.pth"))
+    parser.add_argument("--out", default="./models/sota.onnx")
+    parser.add_argument("--opset", type=int, default=17)
+    args = parser.parse_args()
+
+    model = MultiTaskSwinV2(model_name=MODEL_NAME, num_classes=4)
+    checkpoint = torch.load(args.model, map_location="cpu", weights_only=False)
+    state_dict = checkpoint["model_state_dict"] if "model_state_dict" in checkpoint else checkpoint
+    model.load_state_dict({k.replace("module.", ""): v for k, v in state_dict.items()}, strict=False)
+    model.eval()
+
+    dummy = torch.randn(1, 3, IMG_SIZE, IMG_SIZE)
+    torch.onnx.export(
+        ExportWrapper(model),
+        dummy,
+        args.out,
+        input_names=["input"],
+        output_names=["logits", "ssim", "lpips"],
+        dynamic_axes={"input": {0: "batch"}, "logits": {0: "batch"}, "ssim": {0: "batch"}, "lpips": {0: "batch"}},
+        opset_version=args.opset,
+        do_constant_folding=True,
+    )
+
+    import onnx
+
+    exported = onnx.load(args.out)
+    metadata = {"model_version": model_version(args.model)}
+    stats = checkpoint.get("stats") if isinstance(checkpoint, dict) else None
+    if stats:
+        metadata["stats"] = json.dumps({k: float(v) for k, v in stats.items()})
+    for key, value in metadata.items():
+        entry = exported.metadata_props.add()
+        entry.key = key
+        entry.value = value
+    onnx.save(exported, args.out)
+
+    print(f"[Export] {args.out} ({metadata['model_version']})")
+
+
+if __name__ == "__main__":
+    main()
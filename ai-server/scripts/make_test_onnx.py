@@ -0,0 +1,108 @@
+"""
+백엔드 OnnxInferenceEngine 테스트용 초소형 ONNX 모델 생성 (의존성 없이 protobuf 를 직접 인코딩).
+
+    python scripts/make_test_onnx.py ../backend-spring/src/test/resources/onnx/tiny-classifier.onnx
+
+export_onnx.py 결과와 입출력 이름/모양이 같다.
+  input [N,3,256,256] -> GlobalAveragePool -> Flatten -> [N,3] (채널별 평균)
+  logits = x @ [[1,0,0,0],[0,1,0,0],[0,0,1,0]]  (빨강 우세 -> 0, 초록 -> 1, 파랑 -> 2)
+  ssim = lpips = x @ 0 = 0                       (stats 메타데이터로 역정규화하면 평균값)
+"""
+import struct
+import sys
+
+
+def varint(value):
+    out = bytearray()
+    while True:
+        bits = value & 0x7F
+        value >>= 7
+        if value:
+            out.append(bits | 0x80)
+        else:
+            out.append(bits)
+            return bytes(out)
+
+
+def field_varint(number, value):
+    return varint(number << 3) + varint(value)
+
+
+def field_bytes(number, payload):
+    if isinstance(payload, str):
+        payload = payload.encode()
+    return varint((number << 3) | 2) + varint(len(payload)) + payload
+
+
+def tensor(name, dims, values):
+    # TensorProto: dims=1, data_type=2 (FLOAT=1), float_data=4 (packed), name=8
+    body = b"".join(field_varint(1, d) for d in dims)
+    body += field_varint(2, 1)
+    body += field_bytes(4, b"".join(struct.pack("<f", v) for v in values))
+    body += field_bytes(8, name)
+    return body
+
+
+def value_info(name, dims):
+    # ValueInfoProto{name=1, type=2{tensor_type=1{elem_type=1, shape=2{dim=1{dim_value=1 | dim_param=2}}}}}
+    shape = b""
+    for d in dims:
+        dim = field_bytes(2, d) if isinstance(d, str) else field_varint(1, d)
+        shape += field_bytes(1, dim)
+    tensor_type = field_varint(1, 1) + field_bytes(2, shape)
+    return field_bytes(1, name) + field_bytes(2, field_bytes(1, tensor_type))
+
+
+def node(op_type, inputs, outputs, name, attributes=b""):
+    body = b"".join(field_bytes(1, i) for i in inputs)
+    body += b"".join(field_bytes(2, o) for o in outputs)
+    body += field_bytes(3, name) + field_bytes(4, op_type) + attributes
+    return body
+
+
+def int_attribute(name, value):
+    # AttributeProto: name=1, i=3, type=20 (INT=2)
+    return field_bytes(5, field_bytes(1, name) + field_varint(3, value) + field_varint(20, 2))
+
+
+def build():
+    nodes = [
+        node("GlobalAveragePool", ["input"], ["pooled"], "pool"),
+        node("Flatten", ["pooled"], ["features"], "flatten", int_attribute("axis", 1)),
+        node("MatMul", ["features", "w_label"], ["logits"], "head_label"),
+        node("MatMul", ["features", "w_zero"], ["ssim"], "head_ssim"),
+        node("MatMul", ["features", "w_zero"], ["lpips"], "head_lpips"),
+    ]
+    initializers = [
+        tensor("w_label", [3, 4], [1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1, 0]),
+        tensor("w_zero", [3, 1], [0, 0, 0]),
+    ]
+
+    graph = b"".join(field_bytes(1, n) for n in nodes)
+    graph += field_bytes(2, "tiny-classifier")
+    graph += b"".join(field_bytes(5, t) for t in initializers)
+    graph += field_bytes(11, value_info("input", ["batch", 3, 256, 256]))
+    graph += field_bytes(12, value_info("logits", ["batch", 4]))
+    graph += field_bytes(12, value_info("ssim", ["batch", 1]))
+    graph += field_bytes(12, value_info("lpips", ["batch", 1]))
+
+    metadata = {
+        "model_version": "tiny-classifier@test",
+        "stats": '{"ssim_mean": 0.8, "ssim_std": 0.1, "lpips_mean": 0.2, "lpips_std": 0.05}',
+    }
+
+    # ModelProto: ir_version=1, producer_name=2, graph=7, opset_import=8{domain=1, version=2}, metadata_props=14
+    model = field_varint(1, 8)
+    model += field_bytes(2, "make_test_onnx.py")
+    model += field_bytes(7, graph)
+    model += field_bytes(8, field_bytes(1, "") + field_varint(2, 13))
+    for key, value in metadata.items():
+        model += field_bytes(14, field_bytes(1, key) + field_bytes(2, value))
+    return model
+
+
+if __name__ == "__main__":
+    out = sys.argv[1] if len(sys.argv) > 1 else "tiny-classifier.onnx"
+    with open(out, "wb") as f:
+        f.write(build())
+    print(f"[Test model] {out}")
@@ -0,0 +1,27 @@
+#!/bin/sh
+# 컨테이너 기동부터 첫 HTTP 응답까지의 시간과 그 시점의 RSS 를 측정
+# 사용법: scripts/startup-benchmark.sh <image> [runs]
+#   예) 기존 jar 와 비교: ./gradlew bootJar && docker build -t spring:jar .
+#                        ./gradlew bootJar -PfastStartup && docker build --build-arg SPRING_AOT_ENABLED=true -t spring:aot-cds .
+#                        docker build -f Dockerfile.native -t spring:native .
+set -eu
+
+IMAGE="$1"
+RUNS="${2:-5}"
+PORT=18080
+
+for i in $(seq 1 "$RUNS"); do
+    START=$(date +%s%3N)
+    CID=$(docker run -d --rm -p "$PORT:8080" --env-file "${ENV_FILE:-.env}" "$IMAGE")
+
+    # 인증이 필요한 경로라도 401 응답이 오면 요청을 처리할 준비가 된 것으로 봄
+    until [ "$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:$PORT/api/v1/user/me")" != "000" ]; do
+        sleep 0.05
+    done
+    END=$(date +%s%3N)
+
+    RSS=$(docker stats --no-stream --format '{{.MemUsage}}' "$CID" | cut -d/ -f1)
+    echo "run=$i time_to_first_request_ms=$((END - START)) rss=$RSS"
+
+    docker stop "$CID" > /dev/null
+done
@@ -0,0 +1,28 @@
+package com.aidetector.domain.detection;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+// 관리자 전용 (SecurityConfig 에서 /api/v1/admin/** 는 ROLE_ADMIN 필요)
+@RestController
+@RequestMapping("/api/v1/admin/detection")
+@RequiredArgsConstructor
+public class AdminDetectionController {
+
+    private final DetectionExportService detectionExportService;
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportAllDetections(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "true") boolean gzip
+    ) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        StreamingResponseBody body = detectionExportService.exportAll(exportFormat, gzip);
+        return DetectionController.exportResponse(body, "detections-all", exportFormat, gzip);
+    }
+}
@@ -0,0 +1,56 @@
+package com.aidetector.domain.detection;
+
+import com.aidetector.domain.detection.dto.ReanalysisDiffDto;
+import com.aidetector.domain.detection.dto.ReanalysisJobResponseDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+// 관리자 전용 (SecurityConfig 에서 /api/v1/admin/** 는 ROLE_ADMIN 필요)
+@RestController
+@RequestMapping("/api/v1/admin/reanalysis")
+@RequiredArgsConstructor
+public class AdminReanalysisController {
+
+    private final ReanalysisJobService reanalysisJobService;
+
+    // apply=false 면 결과 비교만 저장하고 기존 판정은 유지
+    @PostMapping
+    public ResponseEntity<ReanalysisJobResponseDto> startReanalysis(
+            @RequestParam(defaultValue = "false") boolean apply
+    ) {
+        return ResponseEntity.ok(reanalysisJobService.start(apply));
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ReanalysisJobResponseDto> getReanalysis(
+            @PathVariable Long jobId
+    ) {
+        return ResponseEntity.ok(reanalysisJobService.getJob(jobId));
+    }
+
+    @PostMapping("/{jobId}/pause")
+    public ResponseEntity<ReanalysisJobResponseDto> pauseReanalysis(
+            @PathVariable Long jobId
+    ) {
+        return ResponseEntity.ok(reanalysisJobService.pause(jobId));
+    }
+
+    @PostMapping("/{jobId}/resume")
+    public ResponseEntity<ReanalysisJobResponseDto> resumeReanalysis(
+            @PathVariable Long jobId
+    ) {
+        return ResponseEntity.ok(reanalysisJobService.resume(jobId));
+    }
+
+    @GetMapping("/{jobId}/changes")
+    public ResponseEntity<List<ReanalysisDiffDto>> getReanalysisChanges(
+            @PathVariable Long jobId,
+            @RequestParam(defaultValue = "0") Long after,
+            @RequestParam(defaultValue = "100") int size
+    ) {
+        return ResponseEntity.ok(reanalysisJobService.getChanges(jobId, after, size));
+    }
+}
@@ -0,0 +1,101 @@
+package com.aidetector.domain.detection;
+
+import com.aidetector.domain.detection.dto.FastApiHeatmapResponseDto;
+import com.aidetector.domain.detection.dto.FastApiModelResponseDto;
+import com.aidetector.domain.detection.dto.FastApiResponseDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// FastAPI 추론 서버 호출 (판정과 히트맵 생성을 분리)
+@Component
+@RequiredArgsConstructor
+public class AiServerClient {
+
+    private final WebClient fastapiClient;
+
+    // inline: 이미지 bytes 를 요청 본문으로 직접 전송, url: AI 서버가 S3 URL 에서 내려받음
+    @Value("${ai-server.transport:inline}")
+    private String transport;
+
+    public boolean isInlineTransport() {
+        return "inline".equals(transport);
+    }
+
+    public FastApiResponseDto classify(byte[] image) {
+        return fastapiClient.post()
+                .uri("/classify/inline")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .bodyValue(image)
+                .retrieve()
+                .bodyToMono(FastApiResponseDto.class)
+                .block();
+    }
+
+    public byte[] renderHeatmap(byte[] image, int label) {
+        byte[] png = fastapiClient.post()
+                .uri(uriBuilder -> uriBuilder.path("/heatmap/inline").queryParam("label", label).build())
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .accept(MediaType.IMAGE_PNG)
+                .bodyValue(image)
+                .retrieve()
+                .bodyToMono(byte[].class)
+                .block();
+
+        if (png == null || png.length == 0) {
+            throw new IllegalStateException("AI 서버가 히트맵을 반환하지 않았습니다.");
+        }
+        return png;
+    }
+
+    public FastApiResponseDto classify(String imageUrl) {
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("image_url", imageUrl);
+
+        return fastapiClient.post()
+                .uri("/classify")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(requestBody)
+                .retrieve()
+                .bodyToMono(FastApiResponseDto.class)
+                .block();
+    }
+
+    public String createHeatmap(String imageUrl, int label) {
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("image_url", imageUrl);
+        requestBody.put("label", label);
+
+        FastApiHeatmapResponseDto response = fastapiClient.post()
+                .uri("/heatmap")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(requestBody)
+                .retrieve()
+                .bodyToMono(FastApiHeatmapResponseDto.class)
+                .block();
+
+        if (response == null || response.getHeatmapUrl() == null) {
+            throw new IllegalStateException("AI 서버가 히트맵을 반환하지 않았습니다.");
+        }
+        return response.getHeatmapUrl();
+    }
+
+    // 현재 AI 서버에 올라가 있는 모델 버전 (sota.pth 교체 시 바뀜)
+    public String getModelVersion() {
+        FastApiModelResponseDto response = fastapiClient.get()
+                .uri("/model")
+                .retrieve()
+                .bodyToMono(FastApiModelResponseDto.class)
+                .block();
+
+        if (response == null || response.getModelVersion() == null) {
+            throw new IllegalStateException("AI 서버가 모델 버전을 반환하지 않았습니다.");
+        }
+        return response.getModelVersion();
+    }
+}
@@ -0,0 +1,18 @@
+package com.aidetector.domain.detection;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Duration;
+
+// AI 서버 호출 우선순위 클래스 (weight 비율로 처리량을 나눠 가짐)
+@Getter
+@RequiredArgsConstructor
+public enum AnalysisPriority {
+    AUTHENTICATED(6, Duration.ofSeconds(30)),
+    ANONYMOUS(3, Duration.ofSeconds(20)),
+    BATCH(1, Duration.ofMinutes(10));
+
+    private final int weight;
+    private final Duration deadline;   // 이 시간 안에 처리를 시작하지 못하면 버림
+}
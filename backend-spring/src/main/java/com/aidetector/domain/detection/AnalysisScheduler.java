@@ -0,0 +1,278 @@
+package com.aidetector.domain.detection;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * AI 서버 호출 스케줄러.
+ * - 우선순위 클래스 사이: weight 기반 Deficit Round-Robin
+ * - 클래스 안: 사용자(flow)별 서브 큐를 Round-Robin 으로 돌려 한 사용자가 독점하지 못하게 함
+ * - 마감 시간이 지난 작업과 큐 한도를 넘는 작업은 503 으로 버림
+ * 생산자는 lock-free 큐에 넣기만 하고, 큐를 꺼내는 것은 단일 dispatcher 스레드만 한다.
+ */
+@Component
+@Slf4j
+public class AnalysisScheduler {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final ClassQueue[] classes;
+    private final int maxConcurrency;
+    private final int maxQueuedPerClass;
+    private final AtomicInteger availablePermits;
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+
+    private volatile boolean running;
+    private volatile Thread dispatcher;
+    private int cursor;                // dispatcher 전용
+
+    public AnalysisScheduler(MeterRegistry meterRegistry,
+                             @Value("${analysis.scheduler.max-concurrency:4}") int maxConcurrency,
+                             @Value("${analysis.scheduler.max-queued-per-class:200}") int maxQueuedPerClass) {
+        this.maxConcurrency = maxConcurrency;
+        this.maxQueuedPerClass = maxQueuedPerClass;
+        this.availablePermits = new AtomicInteger(maxConcurrency);
+
+        AnalysisPriority[] priorities = AnalysisPriority.values();
+        this.classes = new ClassQueue[priorities.length];
+        for (AnalysisPriority priority : priorities) {
+            classes[priority.ordinal()] = new ClassQueue(priority, meterRegistry);
+        }
+        Gauge.builder("analysis.scheduler.in_flight", () -> maxConcurrency - availablePermits.get())
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        dispatcher = Thread.ofPlatform().name("analysis-dispatcher").daemon().start(this::dispatchLoop);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        LockSupport.unpark(dispatcher);
+        workers.shutdown();
+    }
+
+    public <T> CompletableFuture<T> submit(AnalysisPriority priority, String flowKey, Supplier<T> work) {
+        ClassQueue classQueue = classes[priority.ordinal()];
+        CompletableFuture<T> future = new CompletableFuture<>();
+
+        if (classQueue.queued.incrementAndGet() > maxQueuedPerClass) {
+            classQueue.queued.decrementAndGet();
+            classQueue.shed.increment();
+            future.completeExceptionally(overloaded());
+            return future;
+        }
+
+        long now = System.nanoTime();
+        Task task = new Task(now, now + priority.getDeadline().toNanos(), () -> {
+            try {
+                future.complete(work.get());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        }, future);
+        enqueue(classQueue, flowKey, task);
+        LockSupport.unpark(dispatcher);
+        return future;
+    }
+
+    private void enqueue(ClassQueue classQueue, String flowKey, Task task) {
+        while (true) {
+            Flow flow = classQueue.flows.computeIfAbsent(flowKey, Flow::new);
+            flow.tasks.offer(task);
+
+            if (!flow.retired) {
+                if (flow.active.compareAndSet(false, true)) {
+                    classQueue.activeFlows.offer(flow);
+                }
+                return;
+            }
+            // 방금 은퇴한 flow 에 넣었으면 되찾아서 새 flow 로 다시 넣음 (못 찾으면 dispatcher 가 이미 옮김)
+            if (!flow.tasks.remove(task)) {
+                return;
+            }
+        }
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            if (availablePermits.get() == 0) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                continue;
+            }
+
+            Task task = nextTask();
+            if (task == null) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                continue;
+            }
+
+            long now = System.nanoTime();
+            ClassQueue classQueue = task.classQueue;
+            classQueue.waitTime.record(now - task.enqueuedAt, TimeUnit.NANOSECONDS);
+
+            if (now - task.deadline > 0) {
+                classQueue.shed.increment();
+                task.future.completeExceptionally(overloaded());
+                continue;
+            }
+
+            availablePermits.decrementAndGet();
+            workers.execute(() -> {
+                try {
+                    task.body.run();
+                } finally {
+                    availablePermits.incrementAndGet();
+                    classQueue.completed.increment();
+                    LockSupport.unpark(dispatcher);
+                }
+            });
+        }
+    }
+
+    // 클래스 단위 DRR: 방문할 때 weight 만큼 deficit 을 받고, 작업 1건당 1씩 소모
+    private Task nextTask() {
+        for (int i = 0; i <= classes.length; i++) {
+            ClassQueue classQueue = classes[cursor];
+
+            if (classQueue.deficit <= 0) {
+                if (classQueue.queued.get() == 0) {
+                    advance();
+                    continue;
+                }
+                classQueue.deficit += classQueue.priority.getWeight();
+            }
+
+            Task task = classQueue.poll();
+            if (task == null) {
+                classQueue.deficit = 0;
+                advance();
+                continue;
+            }
+
+            if (--classQueue.deficit <= 0) {
+                advance();
+            }
+            return task;
+        }
+        return null;
+    }
+
+    private void advance() {
+        cursor = (cursor + 1) % classes.length;
+    }
+
+    private static ResponseStatusException overloaded() {
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "분석 요청이 많아 잠시 후 다시 시도해주세요.");
+    }
+
+    private final class ClassQueue {
+        private final AnalysisPriority priority;
+        private final ConcurrentHashMap<String, Flow> flows = new ConcurrentHashMap<>();
+        private final ConcurrentLinkedQueue<Flow> activeFlows = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final Counter shed;
+        private final Counter completed;
+        private final Timer waitTime;
+        private int deficit;           // dispatcher 전용
+
+        private ClassQueue(AnalysisPriority priority, MeterRegistry meterRegistry) {
+            this.priority = priority;
+            String tag = priority.name().toLowerCase();
+            Gauge.builder("analysis.scheduler.queued", queued, AtomicInteger::get)
+                    .tag("class", tag).register(meterRegistry);
+            Gauge.builder("analysis.scheduler.flows", flows, ConcurrentHashMap::size)
+                    .tag("class", tag).register(meterRegistry);
+            this.shed = Counter.builder("analysis.scheduler.shed").tag("class", tag).register(meterRegistry);
+            this.completed = Counter.builder("analysis.scheduler.completed").tag("class", tag).register(meterRegistry);
+            this.waitTime = Timer.builder("analysis.scheduler.wait").tag("class", tag).register(meterRegistry);
+        }
+
+        // 활성 flow 들을 Round-Robin 으로 한 건씩 꺼냄
+        private Task poll() {
+            Flow flow;
+            while ((flow = activeFlows.poll()) != null) {
+                Task task = flow.tasks.poll();
+                if (task != null) {
+                    queued.decrementAndGet();
+                    task.classQueue = this;
+                    if (flow.tasks.isEmpty()) {
+                        deactivate(flow);
+                    } else {
+                        activeFlows.offer(flow);
+                    }
+                    return task;
+                }
+                deactivate(flow);
+            }
+            return null;
+        }
+
+        private void deactivate(Flow flow) {
+            flow.active.set(false);
+            if (!flow.tasks.isEmpty()) {
+                if (flow.active.compareAndSet(false, true)) {
+                    activeFlows.offer(flow);
+                }
+                return;
+            }
+
+            // 빈 flow 는 맵에서 제거해 익명 사용자 키가 쌓이지 않게 함
+            flow.retired = true;
+            flows.remove(flow.key, flow);
+            Task leftover;
+            while ((leftover = flow.tasks.poll()) != null) {
+                enqueue(this, flow.key, leftover);
+            }
+        }
+    }
+
+    private static final class Flow {
+        private final String key;
+        private final ConcurrentLinkedQueue<Task> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean active = new AtomicBoolean();
+        private volatile boolean retired;
+
+        private Flow(String key) {
+            this.key = key;
+        }
+    }
+
+    private static final class Task {
+        private final long enqueuedAt;
+        private final long deadline;
+        private final Runnable body;
+        private final CompletableFuture<?> future;
+        private ClassQueue classQueue;  // dispatcher 가 꺼낼 때 설정
+
+        private Task(long enqueuedAt, long deadline, Runnable body, CompletableFuture<?> future) {
+            this.enqueuedAt = enqueuedAt;
+            this.deadline = deadline;
+            this.body = body;
+            this.future = future;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.aidetector.domain.detection;
+
+import jakarta.persistence.Embedded;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+// 보존 기간이 지나 detection_requests 파티션에서 옮겨진 분석 기록 (읽기 전용)
+@Entity
+@Getter
+@Immutable
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "detection_requests_archive")
+public class DetectionArchive {
+
+    @Id
+    private Long id;
+
+    private Long userId;
+
+    private String originalFileName;
+    private String storedFilePath;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime archivedAt;
+
+    // 끝나지 않은 채 보존 기간이 지난 PROCESSING 건은 FAILED 로 옮겨짐
+    @Enumerated(EnumType.STRING)
+    private DetectionStatus status;
+
+    @Embedded
+    private DetectionResult result;
+
+    private String modelVersion;
+
+    private String heatmapUrl;
+
+    private String accessToken;
+}
@@ -0,0 +1,21 @@
+package com.aidetector.domain.detection;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface DetectionArchiveRepository extends JpaRepository<DetectionArchive, Long> {
+
+    List<DetectionArchive> findAllByUserId(Long userId);
+
+    // @Immutable 엔티티라 delete(entity) 대신 벌크 쿼리로 삭제
+    @Modifying
+    @Query("delete from DetectionArchive a where a.id = :id")
+    void deleteArchiveById(Long id);
+
+    @Modifying
+    @Query("delete from DetectionArchive a where a.userId = :userId")
+    void deleteAllArchiveByUserId(Long userId);
+}
@@ -1,46 +1,143 @@
 package com.aidetector.domain.detection;
 
+import com.aidetector.domain.detection.dto.DetectionHistoryCondition;
+import com.aidetector.domain.detection.dto.DetectionHistoryPageDto;
 import com.aidetector.domain.detection.dto.DetectionResponseDto;
+import com.aidetector.domain.detection.dto.HeatmapResponseDto;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
-import java.util.List;
+import java.time.Duration;
+import java.util.Locale;
 
 @RestController
 @RequestMapping("/api/v1/detection")
 @RequiredArgsConstructor
 public class DetectionController {
 
+    // 인증이 필요한 API 라 공유 캐시(CDN)에는 저장하지 않고, 브라우저는 잠시 쓰다가 ETag 로 재검증
+    private static final CacheControl COMPLETED_RESULT_CACHE_CONTROL =
+            CacheControl.maxAge(Duration.ofMinutes(1)).cachePrivate().mustRevalidate();
+
+    // 비회원 분석 결과의 조회 토큰 (업로드 응답의 accessToken)
+    private static final String RESULT_TOKEN_HEADER = "X-Result-Token";
+
     private final DetectionService detectionService;
+    private final DetectionHistoryService detectionHistoryService;
+    private final DetectionIdempotencyService detectionIdempotencyService;
+    private final DetectionExportService detectionExportService;
+    private final DetectionResultCache detectionResultCache;
     private final DetectionRepository detectionRepository;
 
     @PostMapping("/upload")
     public ResponseEntity<DetectionResponseDto> uploadImage(
             @RequestParam("file") MultipartFile file,
-            @AuthenticationPrincipal String email
+            @AuthenticationPrincipal String email,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            HttpServletRequest request
     ) throws IOException {
 
-        DetectionResponseDto response = detectionService.requestDetection(file, email);
+        String clientIp = request.getRemoteAddr();
+        // 같은 키의 재시도는 한 번만 실행되고 저장된 결과를 돌려받음 (비회원은 IP 단위로 키를 구분)
+        String owner = request.getUserPrincipal() != null ? "user:" + email : "ip:" + clientIp;
+
+        DetectionResponseDto response = detectionIdempotencyService.execute(idempotencyKey, owner, file,
+                () -> detectionService.requestDetection(file, email, clientIp));
 
         return ResponseEntity.ok(response);
     }
 
+    // 완료된 결과는 바뀌지 않으므로 직렬화된 bytes 를 캐시하고 ETag 로 재검증 (If-None-Match 일치 시 304)
     @GetMapping("/{requestId}")
-    public ResponseEntity<DetectionResponseDto> getDetectionDetail(
-            @PathVariable Long requestId
+    public ResponseEntity<?> getDetectionDetail(
+            @PathVariable Long requestId,
+            Authentication authentication,
+            @RequestHeader(value = RESULT_TOKEN_HEADER, required = false) String resultToken,
+            HttpServletRequest request
+    ) {
+        DetectionViewer viewer = DetectionViewer.from(authentication, resultToken);
+        Locale locale = LocaleContextHolder.getLocale();
+        DetectionResultCache.Entry cached = detectionResultCache.get(requestId, locale);
+
+        if (cached != null) {
+            // 캐시 적중이어도 소유자 확인은 매번 수행 (토큰의 사용자 ID 와 비교, DB 조회 없음)
+            detectionService.checkReadable(cached.ownerId(), cached.accessToken(), viewer);
+        } else {
+            DetectionResponseDto response = detectionService.getDetectionDetail(requestId, viewer, request.getRemoteAddr());
+            cached = detectionResultCache.putIfComplete(requestId, locale, response);
+            if (cached == null) {
+                // 분석 중이거나 히트맵이 아직 없는 결과는 저장하지 않음
+                return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(response);
+            }
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(cached.etag())
+                .cacheControl(COMPLETED_RESULT_CACHE_CONTROL)
+                .varyBy(HttpHeaders.ACCEPT_LANGUAGE)
+                .body(cached.body());
+    }
+
+    @GetMapping("/{requestId}/heatmap")
+    public ResponseEntity<HeatmapResponseDto> getHeatmap(
+            @PathVariable Long requestId,
+            Authentication authentication,
+            @RequestHeader(value = RESULT_TOKEN_HEADER, required = false) String resultToken,
+            HttpServletRequest request
     ) {
-        return ResponseEntity.ok(detectionService.getDetectionDetail(requestId));
+        return ResponseEntity.ok(detectionService.getHeatmap(
+                requestId, DetectionViewer.from(authentication, resultToken), request.getRemoteAddr()));
     }
 
+    // 예: /history?label=SLEEK_FAKE&label=NOISY_FAKE&minConfidence=0.8&from=2026-01-01&size=20
+    // 다음 페이지는 응답의 nextCursor 를 cursor 로 전달
     @GetMapping("/history")
-    public ResponseEntity<List<DetectionResponseDto>> getUserDetectionHistory(
-            @AuthenticationPrincipal String email
+    public ResponseEntity<DetectionHistoryPageDto> searchDetectionHistory(
+            @AuthenticationPrincipal String email,
+            @ModelAttribute DetectionHistoryCondition condition,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(detectionHistoryService.search(email, condition, cursor, size));
+    }
+
+    @GetMapping("/history/export")
+    public ResponseEntity<StreamingResponseBody> exportDetectionHistory(
+            @AuthenticationPrincipal String email,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip
     ) {
-        return ResponseEntity.ok(detectionService.getUserDetectionHistory(email));
+        ExportFormat exportFormat = ExportFormat.from(format);
+        StreamingResponseBody body = detectionExportService.exportUserHistory(email, exportFormat, gzip);
+        return exportResponse(body, "detection-history", exportFormat, gzip);
+    }
+
+    static ResponseEntity<StreamingResponseBody> exportResponse(
+            StreamingResponseBody body, String fileName, ExportFormat format, boolean gzip) {
+        // gzip 은 Content-Encoding 이 아닌 .gz 파일로 내려 브라우저가 압축을 풀지 않게 함
+        String extension = gzip ? format.getExtension() + ".gz" : format.getExtension();
+        MediaType contentType = gzip
+                ? MediaType.parseMediaType("application/gzip")
+                : MediaType.parseMediaType(format.getContentType() + ";charset=UTF-8");
+
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(fileName + "." + extension).build().toString())
+                .body(body);
     }
 
     @DeleteMapping("/history/{id}")
@@ -0,0 +1,339 @@
+package com.aidetector.domain.detection;
+
+import com.aidetector.domain.user.User;
+import com.aidetector.domain.user.UserRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.query.SelectionQuery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 탐지 기록 내보내기 (CSV / NDJSON).
+ * StatelessSession 은 영속성 컨텍스트가 없어 읽은 엔티티가 쌓이지 않고,
+ * fetch size Integer.MIN_VALUE 로 MySQL 드라이버가 결과를 한 행씩 스트리밍하므로
+ * 건수와 관계없이 메모리 사용량이 일정하다. 아카이브 테이블의 기록도 이어서 내보낸다.
+ */
+@Service
+@Slf4j
+public class DetectionExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MYSQL_STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+
+    private static final String CSV_HEADER = "id,userId,createdAt,status,labelName,state,"
+            + "confidence,ssim,lpips,rm,pvr,modelVersion,originalFileName,originalImageUrl,heatmapImageUrl,archived";
+
+    private final SessionFactory sessionFactory;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final Semaphore exportPermits;
+
+    public DetectionExportService(EntityManagerFactory entityManagerFactory,
+                                  UserRepository userRepository,
+                                  ObjectMapper objectMapper,
+                                  @Value("${detection.export.max-concurrent:2}") int maxConcurrent) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+        this.exportPermits = new Semaphore(maxConcurrent);
+    }
+
+    public StreamingResponseBody exportUserHistory(String email, ExportFormat format, boolean gzip) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
+        return export(user.getId(), format, gzip);
+    }
+
+    // 관리자용: 전체 사용자 (비회원 기록 포함)
+    public StreamingResponseBody exportAll(ExportFormat format, boolean gzip) {
+        return export(null, format, gzip);
+    }
+
+    private StreamingResponseBody export(Long userId, ExportFormat format, boolean gzip) {
+        // 대부분의 초과 요청은 응답 헤더를 쓰기 전에 바로 거절 (실제 허가는 본문에서 획득)
+        if (exportPermits.availablePermits() == 0) {
+            throw tooManyExports();
+        }
+        // 본문은 비동기 스레드에서 쓰이므로 요청 Locale 을 미리 잡아 둠
+        Locale locale = LocaleContextHolder.getLocale();
+
+        return outputStream -> {
+            // 내보내기 하나가 끝날 때까지 커넥션을 점유하므로 동시 실행 수를 제한
+            // 본문 안에서 획득해야 본문이 실행되지 않은 요청(비동기 timeout, 실행 거부)이 허가를 잡고 있지 않음
+            if (!exportPermits.tryAcquire()) {
+                throw tooManyExports();
+            }
+            long startedAt = System.currentTimeMillis();
+            try {
+                OutputStream target = gzip ? new GZIPOutputStream(outputStream, BUFFER_SIZE) : outputStream;
+                try (Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+                    RowWriter rowWriter = format == ExportFormat.CSV
+                            ? new CsvRowWriter(writer, locale)
+                            : new NdjsonRowWriter(writer, locale, objectMapper);
+                    long rows = writeRows(userId, rowWriter);
+                    rowWriter.finish();
+                    log.info("[내보내기 완료] UserId: {}, Format: {}, Rows: {}, {}ms",
+                            userId != null ? userId : "ALL", format, rows, System.currentTimeMillis() - startedAt);
+                }
+            } finally {
+                exportPermits.release();
+            }
+        };
+    }
+
+    private static ResponseStatusException tooManyExports() {
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "진행 중인 내보내기가 많아 잠시 후 다시 시도해주세요.");
+    }
+
+    private long writeRows(Long userId, RowWriter rowWriter) throws IOException {
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            // 읽기 전용 트랜잭션: 일관된 스냅샷으로 읽고 InnoDB 는 트랜잭션 ID 를 발급하지 않음
+            session.doWork(connection -> connection.setReadOnly(true));
+            Transaction transaction = session.beginTransaction();
+            try {
+                long rows = 0;
+
+                // MySQL 은 커넥션당 스트리밍 결과셋을 하나만 열 수 있으므로 테이블을 차례로 읽음
+                try (Stream<DetectionRequest> requests = streamRequests(session, userId)) {
+                    Iterator<DetectionRequest> iterator = requests.iterator();
+                    while (iterator.hasNext()) {
+                        DetectionRequest request = iterator.next();
+                        // LAZY 연관은 프록시라 getId() 는 users 를 조회하지 않음
+                        rowWriter.write(request.getId(),
+                                request.getUser() != null ? request.getUser().getId() : null,
+                                request.getCreatedAt(), request.getStatus().name(),
+                                request.getResult(), request.getModelVersion(),
+                                request.getOriginalFileName(), request.getStoredFilePath(), request.getHeatmapUrl(),
+                                false);
+                        rows++;
+                    }
+                }
+
+                try (Stream<DetectionArchive> archives = streamArchives(session, userId)) {
+                    Iterator<DetectionArchive> iterator = archives.iterator();
+                    while (iterator.hasNext()) {
+                        DetectionArchive archive = iterator.next();
+                        rowWriter.write(archive.getId(), archive.getUserId(),
+                                archive.getCreatedAt(), archive.getStatus().name(),
+                                archive.getResult(), archive.getModelVersion(),
+                                archive.getOriginalFileName(), archive.getStoredFilePath(), archive.getHeatmapUrl(),
+                                true);
+                        rows++;
+                    }
+                }
+
+                transaction.commit();
+                return rows;
+            } catch (IOException | RuntimeException e) {
+                // 클라이언트가 다운로드를 끊으면 쓰기에서 IOException 이 나므로 여기서 정리됨
+                transaction.rollback();
+                throw e;
+            }
+        }
+    }
+
+    private Stream<DetectionRequest> streamRequests(StatelessSession session, Long userId) {
+        if (userId == null) {
+            return session.createSelectionQuery("from DetectionRequest", DetectionRequest.class)
+                    .setFetchSize(MYSQL_STREAMING_FETCH_SIZE)
+                    .getResultStream();
+        }
+        // (user_id, created_at) 인덱스 순서대로 읽으므로 정렬 비용이 없음
+        SelectionQuery<DetectionRequest> query = session.createSelectionQuery(
+                        "from DetectionRequest d where d.user.id = :userId order by d.createdAt desc",
+                        DetectionRequest.class)
+                .setParameter("userId", userId)
+                .setFetchSize(MYSQL_STREAMING_FETCH_SIZE);
+        return query.getResultStream();
+    }
+
+    private Stream<DetectionArchive> streamArchives(StatelessSession session, Long userId) {
+        if (userId == null) {
+            return session.createSelectionQuery("from DetectionArchive", DetectionArchive.class)
+                    .setFetchSize(MYSQL_STREAMING_FETCH_SIZE)
+                    .getResultStream();
+        }
+        return session.createSelectionQuery(
+                        "from DetectionArchive a where a.userId = :userId order by a.createdAt desc",
+                        DetectionArchive.class)
+                .setParameter("userId", userId)
+                .setFetchSize(MYSQL_STREAMING_FETCH_SIZE)
+                .getResultStream();
+    }
+
+    private interface RowWriter {
+        void write(Long id, Long userId, LocalDateTime createdAt, String status, DetectionResult result,
+                   String modelVersion, String originalFileName, String originalImageUrl, String heatmapImageUrl,
+                   boolean archived) throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+        private final Locale locale;
+
+        private CsvRowWriter(Writer writer, Locale locale) throws IOException {
+            this.writer = writer;
+            this.locale = locale;
+            // 엑셀이 UTF-8 로 인식하도록 BOM
+            writer.write('\uFEFF');
+            writer.write(CSV_HEADER);
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(Long id, Long userId, LocalDateTime createdAt, String status, DetectionResult result,
+                          String modelVersion, String originalFileName, String originalImageUrl, String heatmapImageUrl,
+                          boolean archived) throws IOException {
+            DetectionLabel label = result.getLabel();
+
+            writer.write(String.valueOf(id));
+            writer.write(',');
+            writeValue(userId);
+            writer.write(',');
+            writeValue(createdAt);
+            writer.write(',');
+            writer.write(status);
+            writer.write(',');
+            writeText(label != null ? label.getName(locale) : null);
+            writer.write(',');
+            writeText(label != null ? label.getState() : null);
+            writer.write(',');
+            writeValue(result.getConfidence());
+            writer.write(',');
+            writeValue(result.getSsim());
+            writer.write(',');
+            writeValue(result.getLpips());
+            writer.write(',');
+            writeValue(result.getRm());
+            writer.write(',');
+            writeValue(result.getPvr());
+            writer.write(',');
+            writeText(modelVersion);
+            writer.write(',');
+            writeText(originalFileName);
+            writer.write(',');
+            writeText(originalImageUrl);
+            writer.write(',');
+            writeText(heatmapImageUrl);
+            writer.write(',');
+            writer.write(archived ? "true" : "false");
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void finish() {
+        }
+
+        private void writeValue(Object value) throws IOException {
+            if (value != null) {
+                writer.write(value.toString());
+            }
+        }
+
+        // RFC 4180 이스케이프 + 스프레드시트 수식 주입 방지
+        private void writeText(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            if (!value.isEmpty() && "=+-@".indexOf(value.charAt(0)) >= 0) {
+                value = "'" + value;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+
+    private static final class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator json;
+        private final Locale locale;
+
+        private NdjsonRowWriter(Writer writer, Locale locale, ObjectMapper objectMapper) throws IOException {
+            this.json = objectMapper.getFactory().createGenerator(writer)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM)
+                    .setRootValueSeparator(new SerializedString("\n"));
+            this.locale = locale;
+        }
+
+        @Override
+        public void write(Long id, Long userId, LocalDateTime createdAt, String status, DetectionResult result,
+                          String modelVersion, String originalFileName, String originalImageUrl, String heatmapImageUrl,
+                          boolean archived) throws IOException {
+            DetectionLabel label = result.getLabel();
+
+            json.writeStartObject();
+            json.writeNumberField("id", id);
+            writeNumber("userId", userId);
+            json.writeStringField("createdAt", createdAt != null ? createdAt.toString() : null);
+            json.writeStringField("status", status);
+            json.writeStringField("labelName", label != null ? label.getName(locale) : null);
+            json.writeStringField("state", label != null ? label.getState() : null);
+            writeNumber("confidence", result.getConfidence());
+            writeNumber("ssim", result.getSsim());
+            writeNumber("lpips", result.getLpips());
+            writeNumber("rm", result.getRm());
+            writeNumber("pvr", result.getPvr());
+            json.writeStringField("modelVersion", modelVersion);
+            json.writeStringField("originalFileName", originalFileName);
+            json.writeStringField("originalImageUrl", originalImageUrl);
+            json.writeStringField("heatmapImageUrl", heatmapImageUrl);
+            json.writeBooleanField("archived", archived);
+            json.writeEndObject();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            json.writeRaw('\n');
+            json.flush();
+        }
+
+        private void writeNumber(String field, Long value) throws IOException {
+            if (value == null) {
+                json.writeNullField(field);
+            } else {
+                json.writeNumberField(field, value);
+            }
+        }
+
+        private void writeNumber(String field, Double value) throws IOException {
+            if (value == null) {
+                json.writeNullField(field);
+            } else {
+                json.writeNumberField(field, value);
+            }
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.aidetector.domain.detection;
+
+// 판정 실패: 업로드 트랜잭션을 롤백하지 않고 FAILED 행과 실패 알림을 커밋한 뒤 응답
+class DetectionFailedException extends RuntimeException {
+
+    DetectionFailedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
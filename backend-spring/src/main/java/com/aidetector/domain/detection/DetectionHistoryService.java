@@ -0,0 +1,184 @@
+package com.aidetector.domain.detection;
+
+import com.aidetector.domain.detection.dto.DetectionHistoryCondition;
+import com.aidetector.domain.detection.dto.DetectionHistoryPageDto;
+import com.aidetector.domain.detection.dto.DetectionResponseDto;
+import com.aidetector.domain.user.User;
+import com.aidetector.domain.user.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 이력 검색.
+ * 1) 조건에 맞는 (id, created_at) 만 커버링 인덱스에서 keyset 으로 읽고 (index-only, OFFSET 없음)
+ * 2) 그 페이지의 행만 id + created_at 범위로 읽는다 (deferred join, 해당 월 파티션만 접근)
+ * 전체 건수는 첫 페이지에서만 count-limit 건까지 세고, 넘으면 근사치로 표시한다.
+ * 보존 기간이 지난 월 파티션은 통째로 아카이브로 옮겨지므로 아카이브 행은 모두 남은 행보다 오래되었다.
+ * 그래서 같은 keyset 을 detection_requests 다음에 아카이브로 이어서 읽는다 (페이지가 덜 찼을 때만 아카이브 조회).
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class DetectionHistoryService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final EntityManager entityManager;
+    private final UserRepository userRepository;
+    private final DetectionRepository detectionRepository;
+    private final DetectionArchiveRepository detectionArchiveRepository;
+
+    @Value("${detection.history.count-limit:10000}")
+    private int countLimit;
+
+    public DetectionHistoryPageDto search(String email, DetectionHistoryCondition condition, String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("페이지 크기는 1 이상 " + MAX_PAGE_SIZE + " 이하로 입력해야 합니다.");
+        }
+
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
+
+        Specification<DetectionRequest> filter = DetectionHistorySpecs.matching(user.getId(), condition);
+        Specification<DetectionArchive> archiveFilter = DetectionHistorySpecs.matching(user.getId(), condition);
+        HistoryKey after = cursor != null ? decodeCursor(cursor) : null;
+
+        List<HistoryKey> keys = new ArrayList<>(findKeys(DetectionRequest.class, afterCursor(filter, after), size + 1));
+        if (keys.size() <= size) {
+            appendArchivedKeys(keys, afterCursor(archiveFilter, after), size + 1);
+        }
+        boolean hasNext = keys.size() > size;
+        if (hasNext) {
+            keys = keys.subList(0, size);
+        }
+
+        Long totalCount = null;
+        boolean approximate = false;
+        if (after == null) {
+            long counted = count(DetectionRequest.class, filter, countLimit + 1);
+            if (counted <= countLimit) {
+                counted += count(DetectionArchive.class, archiveFilter, countLimit + 1 - (int) counted);
+            }
+            approximate = counted > countLimit;
+            totalCount = Math.min(counted, countLimit);
+        }
+
+        return new DetectionHistoryPageDto(
+                fetch(keys),
+                totalCount,
+                approximate,
+                hasNext ? encodeCursor(keys.get(keys.size() - 1)) : null
+        );
+    }
+
+    private static <T> Specification<T> afterCursor(Specification<T> filter, HistoryKey after) {
+        return after != null ? filter.and(DetectionHistorySpecs.after(after.createdAt(), after.id())) : filter;
+    }
+
+    // 파티션을 옮기는 도중(INSERT 후 DROP 전)에는 같은 행이 양쪽에 있으므로 id 로 중복을 거름
+    // 중복은 최대 keys.size() 건이라 limit 건을 읽으면 페이지를 채우기에 충분함
+    private void appendArchivedKeys(List<HistoryKey> keys, Specification<DetectionArchive> spec, int limit) {
+        Set<Long> seen = keys.stream().map(HistoryKey::id).collect(Collectors.toSet());
+        for (HistoryKey key : findKeys(DetectionArchive.class, spec, limit)) {
+            if (keys.size() >= limit) {
+                break;
+            }
+            if (seen.add(key.id())) {
+                keys.add(key);
+            }
+        }
+    }
+
+    private <T> List<HistoryKey> findKeys(Class<T> type, Specification<T> spec, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<HistoryKey> query = cb.createQuery(HistoryKey.class);
+        Root<T> root = query.from(type);
+
+        query.select(cb.construct(HistoryKey.class, root.get("id"), root.get("createdAt")))
+                .where(spec.toPredicate(root, query, cb))
+                .orderBy(cb.desc(root.get("createdAt")), cb.desc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    // COUNT(*) 는 조건에 맞는 행을 끝까지 세므로, 인덱스에서 limit 건까지만 읽고 멈춤
+    // 옮기는 도중의 행은 양쪽에서 세어질 수 있지만 건수는 표시용이므로 허용
+    private <T> long count(Class<T> type, Specification<T> spec, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<T> root = query.from(type);
+
+        query.select(root.get("id"))
+                .where(spec.toPredicate(root, query, cb));
+
+        try (Stream<Long> ids = entityManager.createQuery(query).setMaxResults(limit).getResultStream()) {
+            return ids.count();
+        }
+    }
+
+    private List<DetectionResponseDto> fetch(List<HistoryKey> keys) {
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+
+        // keys 는 created_at 내림차순
+        LocalDateTime newest = keys.get(0).createdAt();
+        LocalDateTime oldest = keys.get(keys.size() - 1).createdAt();
+        List<Long> ids = keys.stream().map(HistoryKey::id).toList();
+
+        Map<Long, DetectionResponseDto> rows = detectionRepository
+                .findAll(DetectionHistorySpecs.idIn(ids, oldest, newest)).stream()
+                .collect(Collectors.toMap(DetectionRequest::getId, DetectionResponseDto::fromEntity, (a, b) -> a, HashMap::new));
+
+        // 아카이브에서 읽은 키와, 1단계와 2단계 사이에 아카이브로 옮겨진 행은 아카이브에서 조회
+        List<Long> missing = ids.stream().filter(id -> !rows.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            detectionArchiveRepository.findAllById(missing)
+                    .forEach(archive -> rows.put(archive.getId(), DetectionResponseDto.fromArchive(archive)));
+        }
+
+        // 1단계와 2단계 사이에 삭제된 행은 건너뜀
+        return ids.stream()
+                .map(rows::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private static String encodeCursor(HistoryKey key) {
+        String raw = key.createdAt() + "_" + key.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static HistoryKey decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('_');
+            return new HistoryKey(Long.parseLong(raw.substring(separator + 1)),
+                    LocalDateTime.parse(raw.substring(0, separator)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
+    }
+}
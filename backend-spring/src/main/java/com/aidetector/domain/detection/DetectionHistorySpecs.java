@@ -0,0 +1,152 @@
+package com.aidetector.domain.detection;
+
+import com.aidetector.domain.detection.dto.DetectionHistoryCondition;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 이력 검색 조건.
+ * 모든 조건은 V7 의 커버링 인덱스 컬럼(user_id, label, created_at, id, confidence_e4, status)만 사용하고,
+ * 값은 저장 형식(라벨 코드, 확신도 x 10^4)으로 바꿔 비교해 인덱스만 읽고 끝나게 한다.
+ * 같은 조건을 detection_requests(DetectionRequest)와 아카이브(DetectionArchive)에 모두 적용한다 (V14 의 아카이브 인덱스).
+ */
+final class DetectionHistorySpecs {
+
+    private DetectionHistorySpecs() {
+    }
+
+    static <T> Specification<T> matching(Long userId, DetectionHistoryCondition condition) {
+        List<Specification<T>> specs = new ArrayList<>();
+        specs.add(ownedBy(userId));
+
+        if (condition.status() != null) {
+            specs.add(hasStatus(condition.status()));
+        }
+
+        Set<DetectionLabel> labels = labels(condition);
+        if (labels != null) {
+            specs.add(hasLabel(labels));
+        }
+
+        Double min = condition.minConfidence();
+        Double max = condition.maxConfidence();
+        if (min != null || max != null) {
+            if ((min != null && (min < 0 || min > 1)) || (max != null && (max < 0 || max > 1))) {
+                throw new IllegalArgumentException("확신도는 0 이상 1 이하로 입력해야 합니다.");
+            }
+            if (min != null && max != null && min > max) {
+                throw new IllegalArgumentException("최소 확신도가 최대 확신도보다 클 수 없습니다.");
+            }
+            specs.add(confidenceBetween(min, max));
+        }
+
+        if (condition.from() != null && condition.to() != null && condition.from().isAfter(condition.to())) {
+            throw new IllegalArgumentException("시작일이 종료일보다 늦을 수 없습니다.");
+        }
+        if (condition.from() != null) {
+            specs.add(createdFrom(condition.from().atStartOfDay()));
+        }
+        if (condition.to() != null) {
+            specs.add(createdBefore(condition.to().plusDays(1).atStartOfDay()));
+        }
+
+        return Specification.allOf(specs);
+    }
+
+    // keyset 페이지: (created_at, id) 내림차순에서 커서 다음 행부터
+    // created_at <= ? 를 따로 두어 인덱스 범위 조건으로 쓰이게 함
+    static <T> Specification<T> after(LocalDateTime createdAt, Long id) {
+        return (root, query, cb) -> {
+            Path<LocalDateTime> created = root.get("createdAt");
+            return cb.and(
+                    cb.lessThanOrEqualTo(created, createdAt),
+                    cb.or(cb.lessThan(created, createdAt), cb.lessThan(root.get("id"), id))
+            );
+        };
+    }
+
+    // 페이지의 id 로 행을 읽을 때 created_at 범위를 함께 주어 해당 월 파티션만 조회
+    static Specification<DetectionRequest> idIn(Collection<Long> ids, LocalDateTime oldest, LocalDateTime newest) {
+        return (root, query, cb) -> cb.and(
+                root.get("id").in(ids),
+                cb.between(root.get("createdAt"), oldest, newest)
+        );
+    }
+
+    private static <T> Specification<T> ownedBy(Long userId) {
+        return (root, query, cb) -> cb.equal(ownerId(root), userId);
+    }
+
+    // detection_requests 는 user 연관, 아카이브는 user_id 값만 보관
+    private static Path<Long> ownerId(Root<?> root) {
+        return DetectionArchive.class.equals(root.getJavaType()) ? root.get("userId") : root.get("user").get("id");
+    }
+
+    private static <T> Specification<T> hasStatus(DetectionStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    private static <T> Specification<T> hasLabel(Set<DetectionLabel> labels) {
+        if (labels.isEmpty()) {
+            return (root, query, cb) -> cb.disjunction();
+        }
+        List<Byte> codes = labels.stream()
+                .map(label -> (byte) label.getCode())
+                .toList();
+        return (root, query, cb) -> root.get("result").get("label").in(codes);
+    }
+
+    // 분석 전 행은 confidence_e4 가 0 이므로 라벨이 있는 행으로 한정
+    private static <T> Specification<T> confidenceBetween(Double min, Double max) {
+        return (root, query, cb) -> {
+            Path<Short> confidence = root.get("result").get("confidenceE4");
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.isNotNull(root.get("result").get("label")));
+            if (min != null) {
+                predicates.add(cb.greaterThanOrEqualTo(confidence, DetectionResult.confidenceE4(min)));
+            }
+            if (max != null) {
+                predicates.add(cb.lessThanOrEqualTo(confidence, DetectionResult.confidenceE4(max)));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    private static <T> Specification<T> createdFrom(LocalDateTime from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createdAt"), from);
+    }
+
+    private static <T> Specification<T> createdBefore(LocalDateTime before) {
+        return (root, query, cb) -> cb.lessThan(root.get("createdAt"), before);
+    }
+
+    // label 과 state 는 모두 라벨 코드 조건이므로 교집합으로 합침 (조건이 없으면 null)
+    private static Set<DetectionLabel> labels(DetectionHistoryCondition condition) {
+        Set<DetectionLabel> labels = null;
+
+        if (condition.label() != null && !condition.label().isEmpty()) {
+            labels = EnumSet.copyOf(condition.label());
+        }
+        if (condition.state() != null && !condition.state().isEmpty()) {
+            Set<DetectionLabel> byState = EnumSet.noneOf(DetectionLabel.class);
+            for (String state : condition.state()) {
+                byState.add(DetectionLabel.fromState(state));
+            }
+            if (labels == null) {
+                labels = byState;
+            } else {
+                labels.retainAll(byState);
+            }
+        }
+        return labels;
+    }
+}
@@ -0,0 +1,179 @@
+package com.aidetector.domain.detection;
+
+import com.aidetector.domain.detection.dto.DetectionResponseDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 업로드 요청의 Idempotency-Key 처리.
+ * - 같은 노드의 동시 중복 요청은 진행 중인 실행에 합류
+ * - 완료된 키는 DB 에 저장해 재시도 시 저장된 결과를 반환
+ * - 다른 노드에서 진행 중인 키는 409 로 응답 (IN_PROGRESS 는 in-progress-lease 가 지나면 다시 선점 가능)
+ * 키는 소유자 + Idempotency-Key 의 SHA-256 으로 저장해 길이가 고정됨
+ * 요청 본문(파일 + Content-Type)의 해시도 함께 저장해, 같은 키로 다른 파일을 보내면 이전 결과 대신 422 로 응답
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DetectionIdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final DetectionService detectionService;
+
+    private final ConcurrentHashMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    @Value("${detection.idempotency.ttl:24h}")
+    private Duration ttl;
+
+    // 처리 중(IN_PROGRESS) 키의 유효 시간: 노드가 죽거나 배포로 끊긴 요청의 키를 이 시간 뒤에 다시 쓸 수 있음
+    @Value("${detection.idempotency.in-progress-lease:5m}")
+    private Duration inProgressLease;
+
+    @FunctionalInterface
+    public interface DetectionAction {
+        DetectionResponseDto run() throws IOException;
+    }
+
+    public DetectionResponseDto execute(String idempotencyKey, String owner, MultipartFile file,
+                                        DetectionAction action) throws IOException {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.run();
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key 는 " + MAX_KEY_LENGTH + "자를 넘을 수 없습니다.");
+        }
+
+        String id = hash((owner + "\n" + idempotencyKey).getBytes(StandardCharsets.UTF_8));
+        String requestHash = requestHash(file);
+
+        CompletableFuture<DetectionResponseDto> created = new CompletableFuture<>();
+        InFlight running = new InFlight(requestHash, created);
+        InFlight existing = inFlight.putIfAbsent(id, running);
+        if (existing != null) {
+            checkSameRequest(existing.requestHash(), requestHash);
+            return join(existing.future());
+        }
+
+        try {
+            DetectionResponseDto response = executeOnce(id, requestHash, action);
+            created.complete(response);
+            return response;
+        } catch (IOException | RuntimeException e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(id, running);
+        }
+    }
+
+    private DetectionResponseDto executeOnce(String id, String requestHash, DetectionAction action) throws IOException {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime leaseExpiresAt = now.plus(inProgressLease);
+
+        if (idempotencyKeyRepository.claim(id, requestHash, now, leaseExpiresAt) == 0) {
+            // 만료된 키(완료 후 ttl 경과, 또는 lease 가 지난 IN_PROGRESS)는 지우고 다시 선점, 아니면 기존 결과를 반환
+            if (idempotencyKeyRepository.deleteIfExpired(id, now) == 0
+                    || idempotencyKeyRepository.claim(id, requestHash, now, leaseExpiresAt) == 0) {
+                return replay(id, requestHash);
+            }
+        }
+
+        DetectionResponseDto response;
+        try {
+            response = action.run();
+        } catch (IOException | RuntimeException e) {
+            // 실패한 요청은 같은 키로 다시 시도할 수 있어야 함
+            idempotencyKeyRepository.release(id);
+            throw e;
+        }
+
+        idempotencyKeyRepository.complete(id, response.getId(), LocalDateTime.now().plus(ttl));
+        return response;
+    }
+
+    private DetectionResponseDto replay(String id, String requestHash) {
+        IdempotencyKey key = idempotencyKeyRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.CONFLICT, "같은 Idempotency-Key 요청을 처리하는 중입니다."));
+
+        // 해시가 없는 행은 이 검사 이전에 저장된 키 (ttl 이 지나면 사라짐)
+        if (key.getRequestHash() != null) {
+            checkSameRequest(key.getRequestHash(), requestHash);
+        }
+
+        if (key.getStatus() != IdempotencyStatus.COMPLETED) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "같은 Idempotency-Key 요청을 처리하는 중입니다.");
+        }
+
+        log.info("[멱등 요청 재사용] Key: {}, HistoryId: {}", id, key.getDetectionRequestId());
+        return detectionService.getStoredResult(key.getDetectionRequestId());
+    }
+
+    private static void checkSameRequest(String storedHash, String requestHash) {
+        if (!storedHash.equals(requestHash)) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    "같은 Idempotency-Key 로 다른 파일을 보냈습니다. 새 요청에는 새 키를 사용해주세요.");
+        }
+    }
+
+    private DetectionResponseDto join(CompletableFuture<DetectionResponseDto> existing) throws IOException {
+        try {
+            return existing.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${detection.idempotency.purge-interval:PT1H}")
+    public void purgeExpired() {
+        int deleted = idempotencyKeyRepository.deleteAllExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("[멱등 키 정리] 만료 키 {}건 삭제", deleted);
+        }
+    }
+
+    private static String requestHash(MultipartFile file) throws IOException {
+        String contentType = String.valueOf(file.getContentType());
+        byte[] header = (contentType + "\n").getBytes(StandardCharsets.UTF_8);
+        return hash(header, file.getBytes());
+    }
+
+    private static String hash(byte[]... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (byte[] part : parts) {
+                digest.update(part);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record InFlight(String requestHash, CompletableFuture<DetectionResponseDto> future) {
+    }
+}
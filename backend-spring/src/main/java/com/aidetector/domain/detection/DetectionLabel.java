@@ -0,0 +1,44 @@
+package com.aidetector.domain.detection;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Locale;
+
+// ai-server/main.py 의 RISK_TABLE 과 동일한 라벨 정의 (DB 에는 code 만 저장)
+@Getter
+@RequiredArgsConstructor
+public enum DetectionLabel {
+    REAL(0, "Real (원본)", "Real", "Real"),
+    SLEEK_FAKE(1, "Sleek Fake (눈속임형)", "Sleek Fake", "Low Risk"),
+    NOISY_FAKE(2, "Noisy Fake (노이즈형)", "Noisy Fake", "Mid Risk"),
+    FAILURE(3, "Failure (망가짐)", "Failure", "High Risk");
+
+    private static final DetectionLabel[] BY_CODE = values();
+
+    private final int code;
+    private final String koreanName;
+    private final String englishName;
+    private final String state;
+
+    public static DetectionLabel of(int code) {
+        if (code < 0 || code >= BY_CODE.length) {
+            throw new IllegalArgumentException("알 수 없는 라벨 코드입니다: " + code);
+        }
+        return BY_CODE[code];
+    }
+
+    // 위험도 상태(Real, Low Risk, ...)는 라벨마다 하나씩이므로 라벨 조건으로 바꿔 조회
+    public static DetectionLabel fromState(String state) {
+        for (DetectionLabel label : BY_CODE) {
+            if (label.state.equalsIgnoreCase(state)) {
+                return label;
+            }
+        }
+        throw new IllegalArgumentException("알 수 없는 상태입니다: " + state);
+    }
+
+    public String getName(Locale locale) {
+        return Locale.KOREAN.getLanguage().equals(locale.getLanguage()) ? koreanName : englishName;
+    }
+}
@@ -1,15 +1,36 @@
 package com.aidetector.domain.detection;
 
 import com.aidetector.domain.user.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
-public interface DetectionRepository extends JpaRepository<DetectionRequest, Long> {
+public interface DetectionRepository extends JpaRepository<DetectionRequest, Long>, JpaSpecificationExecutor<DetectionRequest> {
 
     // 특정 사용자의 탐지 기록을 최신순으로 조회
     List<DetectionRequest> findAllByUserOrderByCreatedAtDesc(User user);
 
     // PROCESSING인 요청만 조회
     List<DetectionRequest> findAllByStatus(DetectionStatus status);
+
+    // 지연 생성된 히트맵 URL 저장 (먼저 저장된 값이 있으면 덮어쓰지 않음)
+    @Transactional
+    @Modifying
+    @Query("update DetectionRequest d set d.heatmapUrl = :heatmapUrl where d.id = :id and d.heatmapUrl is null")
+    int updateHeatmapUrlIfAbsent(Long id, String heatmapUrl);
+
+    // 재분석 대상을 id 순 keyset 으로 조회 (PK 선두 컬럼 id 의 범위 스캔, OFFSET 없음)
+    @Query("select new com.aidetector.domain.detection.ReanalysisTarget(d.id, d.storedFilePath) "
+            + "from DetectionRequest d where d.id > :afterId and d.id <= :maxId "
+            + "and d.status = com.aidetector.domain.detection.DetectionStatus.COMPLETED "
+            + "and (d.modelVersion is null or d.modelVersion <> :modelVersion) order by d.id")
+    List<ReanalysisTarget> findReanalysisTargets(Long afterId, Long maxId, String modelVersion, Limit limit);
+
+    @Query("select coalesce(max(d.id), 0) from DetectionRequest d")
+    Long findMaxId();
 }
@@ -16,8 +16,18 @@ import java.time.LocalDateTime;
 @Table(name = "detection_requests")
 public class DetectionRequest {
 
+    // IDENTITY 전략은 Hibernate의 JDBC insert 배치를 비활성화하므로 pooled 테이블 생성기를 사용
+    // 각 노드는 id_generators 행을 잠가 allocationSize 만큼의 ID 블록을 한 번에 예약한다
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "detection_request_id")
+    @TableGenerator(
+            name = "detection_request_id",
+            table = "id_generators",
+            pkColumnName = "sequence_name",
+            valueColumnName = "next_val",
+            pkColumnValue = "detection_requests",
+            allocationSize = 50
+    )
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -33,40 +43,40 @@ public class DetectionRequest {
     @CreationTimestamp
     private LocalDateTime createdAt;
 
-    // --- FastAPI 분석 결과 상세 필드 ---
-    private Integer label;             // 0, 1, 2, 3
-    private String labelName;          // 예: Real (원본), Noisy Fake 등
-    private String state;              // 예: Real, Mid Risk 등
-    private Double confidence;         // 모델의 확신도
-    private Double ssim;               // 구조 유사도
-    private Double lpips;              // 지각 유사도
-    private Double rm;                 // 잔차 평균
-    private Double pvr;                // 강한 피크 비율
-    private String heatmapUrl;         // 저장된 히트맵 파일명 (hm_...)
+    // --- FastAPI 분석 결과 (압축 저장) ---
+    @Embedded
+    private DetectionResult result;
+
+    private String modelVersion;       // 결과를 만든 모델 버전 (모델 교체 후 재분석 대상 판별)
+
+    private String heatmapUrl;         // 저장된 히트맵 URL
+
+    private String accessToken;        // 비회원 분석 건의 조회 토큰 (회원 분석 건은 null)
 
     @Builder
     public DetectionRequest(User user, String originalFileName, String storedFilePath) {
         this.user = user;
         this.originalFileName = originalFileName;
         this.storedFilePath = storedFilePath;
+        this.accessToken = user == null ? ResultAccessToken.generate() : null;
         this.status = DetectionStatus.PROCESSING; // 생성 시 초기 상태
+        this.result = DetectionResult.empty();
     }
 
-    public void completeAnalysis(Integer label, String labelName, String state,
-                                 Double confidence, Double ssim, Double lpips,
-                                 Double rm, Double pvr, String heatmapUrl) {
-        this.label = label;
-        this.labelName = labelName;
-        this.state = state;
-        this.confidence = confidence;
-        this.ssim = ssim;
-        this.lpips = lpips;
-        this.rm = rm;
-        this.pvr = pvr;
-        this.heatmapUrl = heatmapUrl;
+    // 히트맵은 HeatmapService 가 요청 시점에 생성해 저장
+    public void completeAnalysis(int label, double confidence, double ssim, double lpips,
+                                 double rm, double pvr, String modelVersion) {
+        this.result = DetectionResult.of(label, confidence, ssim, lpips, rm, pvr);
+        this.modelVersion = modelVersion;
         this.status = DetectionStatus.COMPLETED; // 분석 완료 상태로 변경
     }
 
+    // 새 모델의 재분석 결과로 교체 (이전 결과는 ReanalysisResult 에 남음)
+    public void applyReanalysis(DetectionResult result, String modelVersion) {
+        this.result = result;
+        this.modelVersion = modelVersion;
+    }
+
     public void failAnalysis() {
         this.status = DetectionStatus.FAILED;
     }
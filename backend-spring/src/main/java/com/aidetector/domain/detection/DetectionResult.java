@@ -0,0 +1,95 @@
+package com.aidetector.domain.detection;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * 분석 결과의 압축 저장 형식.
+ * 라벨 이름/상태 문자열은 저장하지 않고 {@link DetectionLabel} 에서 조회하며,
+ * 지표는 FastAPI 응답의 반올림 자릿수에 맞춘 고정 소수점 정수로 저장한다.
+ */
+@Embeddable
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class DetectionResult {
+
+    private static final double E2 = 1e2;
+    private static final double E4 = 1e4;
+    private static final double E6 = 1e6;
+
+    @Column(columnDefinition = "TINYINT")
+    private Byte label;                // DetectionLabel 코드, 분석 전에는 null
+
+    @Column(nullable = false)
+    private short confidenceE4;        // 모델의 확신도 x 10^4 (0 ~ 1)
+
+    @Column(nullable = false)
+    private short ssimE4;              // 구조 유사도 x 10^4 (-1 ~ 1)
+
+    @Column(nullable = false)
+    private int lpipsE4;               // 지각 유사도 x 10^4
+
+    @Column(nullable = false)
+    private int rmE6;                  // 잔차 평균 x 10^6
+
+    @Column(nullable = false)
+    private short pvrE2;               // 강한 피크 비율(%) x 10^2 (0 ~ 100)
+
+    static DetectionResult empty() {
+        return new DetectionResult();
+    }
+
+    static DetectionResult of(int label, double confidence, double ssim, double lpips, double rm, double pvr) {
+        DetectionResult result = new DetectionResult();
+        result.label = (byte) DetectionLabel.of(label).getCode();
+        result.confidenceE4 = confidenceE4(confidence);
+        result.ssimE4 = (short) fixed("ssim", ssim, E4, -1, 1);
+        result.lpipsE4 = (int) fixed("lpips", lpips, E4, 0, Integer.MAX_VALUE / E4);
+        result.rmE6 = (int) fixed("rm", rm, E6, 0, Integer.MAX_VALUE / E6);
+        result.pvrE2 = (short) fixed("pvr", pvr, E2, 0, 100);
+        return result;
+    }
+
+    // 확신도 조건을 저장 형식 그대로 비교하기 위한 변환 (인덱스 컬럼에 함수를 씌우지 않음)
+    static short confidenceE4(double confidence) {
+        return (short) fixed("confidence", confidence, E4, 0, 1);
+    }
+
+    // 정의된 범위로 잘라 고정 소수점으로 변환 (범위 밖 값이 정수 캐스팅에서 부호가 뒤집혀 저장되지 않게 함)
+    // 통계가 없는 모델의 ssim/lpips 는 회귀 출력 그대로라 범위를 벗어날 수 있음
+    private static long fixed(String name, double value, double scale, double min, double max) {
+        if (Double.isNaN(value)) {
+            throw new IllegalArgumentException(name + " 값이 올바르지 않습니다: NaN");
+        }
+        return Math.round(Math.max(min, Math.min(max, value)) * scale);
+    }
+
+    public boolean isAnalyzed() {
+        return label != null;
+    }
+
+    public DetectionLabel getLabel() {
+        return isAnalyzed() ? DetectionLabel.of(label) : null;
+    }
+
+    public Double getConfidence() {
+        return isAnalyzed() ? confidenceE4 / E4 : null;
+    }
+
+    public Double getSsim() {
+        return isAnalyzed() ? ssimE4 / E4 : null;
+    }
+
+    public Double getLpips() {
+        return isAnalyzed() ? lpipsE4 / E4 : null;
+    }
+
+    public Double getRm() {
+        return isAnalyzed() ? rmE6 / E6 : null;
+    }
+
+    public Double getPvr() {
+        return isAnalyzed() ? pvrE2 / E2 : null;
+    }
+}
@@ -0,0 +1,133 @@
+package com.aidetector.domain.detection;
+
+import com.aidetector.domain.detection.dto.DetectionResponseDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 완료된 분석 결과의 직렬화된 응답(JSON bytes) 캐시.
+ * 히트맵까지 저장된 COMPLETED 결과만 담으므로 적중 시 DB 조회와 Jackson 직렬화를 모두 건너뛴다.
+ * - 라벨 이름이 Locale 에 따라 달라 (id, 언어) 단위로 저장
+ * - 개수 상한을 넘으면 가장 오래 안 쓰인 항목부터 제거 (LRU)
+ * - 삭제/탈퇴/재분석 반영 시 제거하며, 다른 노드에서 지운 결과도 expire-after 뒤에는 사라짐
+ */
+@Component
+public class DetectionResultCache {
+
+    private static final String[] LANGUAGES = {"ko", "en"};
+
+    private final ObjectMapper objectMapper;
+    private final Duration expireAfter;
+    private final Map<Key, Entry> entries;
+    private final Counter hits;
+    private final Counter misses;
+
+    public DetectionResultCache(ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry,
+                                @Value("${detection.result-cache.max-entries:10000}") int maxEntries,
+                                @Value("${detection.result-cache.expire-after:10m}") Duration expireAfter) {
+        this.objectMapper = objectMapper;
+        this.expireAfter = expireAfter;
+        this.entries = new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.hits = Counter.builder("detection.result_cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("detection.result_cache").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("detection.result_cache.size", this, DetectionResultCache::size).register(meterRegistry);
+    }
+
+    public Entry get(Long requestId, Locale locale) {
+        Key key = new Key(requestId, language(locale));
+        long now = System.nanoTime();
+
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && now - entry.cachedAt < expireAfter.toNanos()) {
+                hits.increment();
+                return entry;
+            }
+            if (entry != null) {
+                entries.remove(key);
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    // 더 이상 바뀌지 않는 결과(분석 완료 + 히트맵 저장)만 저장하고, 아니면 null
+    public Entry putIfComplete(Long requestId, Locale locale, DetectionResponseDto response) {
+        if (response.getLabelName() == null || response.getHeatmapImageUrl() == null) {
+            return null;
+        }
+
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("분석 결과를 직렬화할 수 없습니다. ID: " + requestId, e);
+        }
+        Entry entry = new Entry(body, "\"" + DigestUtils.md5DigestAsHex(body) + "\"",
+                response.getOwnerId(), response.getAccessToken(), System.nanoTime());
+
+        synchronized (entries) {
+            entries.put(new Key(requestId, language(locale)), entry);
+        }
+        return entry;
+    }
+
+    // 트랜잭션 안이면 커밋 후에 제거 (커밋 전에 지우면 다른 요청이 옛 값을 다시 채울 수 있음)
+    public void evict(Long requestId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(requestId);
+                }
+            });
+        } else {
+            evictNow(requestId);
+        }
+    }
+
+    private void evictNow(Long requestId) {
+        synchronized (entries) {
+            for (String language : LANGUAGES) {
+                entries.remove(new Key(requestId, language));
+            }
+        }
+    }
+
+    private int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    // DetectionLabel.getName 과 같은 기준 (ko 외에는 영어 이름)
+    private static String language(Locale locale) {
+        return Locale.KOREAN.getLanguage().equals(locale.getLanguage()) ? "ko" : "en";
+    }
+
+    // 적중 시에도 소유자 확인을 건너뛰지 않도록 소유자 ID(비회원 분석 건은 null)와 조회 토큰을 함께 보관
+    public record Entry(byte[] body, String etag, Long ownerId, String accessToken, long cachedAt) {
+    }
+
+    private record Key(Long requestId, String language) {
+    }
+}
@@ -0,0 +1,140 @@
+package com.aidetector.domain.detection;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * detection_requests 월 파티션 관리.
+ * - 미래 파티션을 미리 만들어 pmax 에 행이 쌓이지 않게 하고
+ * - 보존 기간이 지난 파티션의 행을 모두 아카이브 테이블로 옮긴 뒤 파티션을 통째로 DROP 한다 (행 단위 DELETE 없음)
+ * - 여러 노드가 같은 시각에 실행하므로 MySQL 이름 잠금(GET_LOCK)을 얻은 노드만 진행
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DetectionRetentionScheduler {
+
+    private static final String TABLE = "detection_requests";
+    private static final String MAX_PARTITION = "pmax";
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+    private static final String LOCK_NAME = "detection_requests.partition_maintenance";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${detection.retention.archive-after-months:12}")
+    private int archiveAfterMonths;
+
+    @Value("${detection.retention.future-partitions:3}")
+    private int futurePartitions;
+
+    @Scheduled(cron = "${detection.retention.cron:0 30 3 * * *}")
+    public void maintainPartitions() {
+        // 이름 잠금은 세션 단위라 잠금용 커넥션을 끝까지 잡아 두고, 노드가 죽어 커넥션이 끊기면 자동으로 풀림
+        jdbcTemplate.execute((ConnectionCallback<Void>) lockConnection -> {
+            if (!acquireLock(lockConnection)) {
+                log.info("[파티션 관리] 다른 노드가 실행 중이라 건너뜁니다.");
+                return null;
+            }
+            try {
+                maintain();
+            } finally {
+                releaseLock(lockConnection);
+            }
+            return null;
+        });
+    }
+
+    private void maintain() {
+        List<String> partitions = findMonthlyPartitions();
+        if (partitions.isEmpty()) {
+            log.warn("[파티션 관리] {} 테이블이 파티션되어 있지 않아 건너뜁니다.", TABLE);
+            return;
+        }
+
+        createFuturePartitions(partitions);
+        archiveExpiredPartitions(partitions);
+    }
+
+    // 기다리지 않고 바로 확인 (1: 획득, 0: 다른 세션이 보유)
+    private static boolean acquireLock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT GET_LOCK(?, 0)")) {
+            statement.setString(1, LOCK_NAME);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getInt(1) == 1;
+            }
+        }
+    }
+
+    private static void releaseLock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            statement.setString(1, LOCK_NAME);
+            statement.executeQuery().close();
+        }
+    }
+
+    private void createFuturePartitions(List<String> partitions) {
+        YearMonth last = YearMonth.parse(partitions.get(partitions.size() - 1), PARTITION_NAME);
+        YearMonth target = YearMonth.now().plusMonths(futurePartitions);
+
+        while (last.isBefore(target)) {
+            YearMonth next = last.plusMonths(1);
+            // pmax 는 비어 있으므로 REORGANIZE 는 데이터 이동 없이 끝난다
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " REORGANIZE PARTITION " + MAX_PARTITION + " INTO ("
+                    + "PARTITION " + next.format(PARTITION_NAME) + " VALUES LESS THAN ('" + next.plusMonths(1).atDay(1) + "'), "
+                    + "PARTITION " + MAX_PARTITION + " VALUES LESS THAN (MAXVALUE))");
+            log.info("[파티션 관리] 파티션 추가: {}", next.format(PARTITION_NAME));
+            last = next;
+        }
+    }
+
+    private void archiveExpiredPartitions(List<String> partitions) {
+        LocalDate cutoff = YearMonth.now().minusMonths(archiveAfterMonths).atDay(1);
+
+        for (String partition : partitions) {
+            // 파티션 pYYYYMM 의 상한은 다음 달 1일
+            LocalDate upperBound = YearMonth.parse(partition, PARTITION_NAME).plusMonths(1).atDay(1);
+            if (upperBound.isAfter(cutoff)) {
+                break;
+            }
+            archivePartition(partition);
+        }
+    }
+
+    private void archivePartition(String partition) {
+        // INSERT IGNORE 로 중간 실패 후 재실행해도 중복 없이 이어서 처리된다
+        // 상태와 관계없이 모두 옮겨야 DROP 뒤에 원본 S3 객체를 가리키는 기록이 사라지지 않음 (삭제/탈퇴 시 함께 정리됨)
+        int archived = jdbcTemplate.update("INSERT IGNORE INTO detection_requests_archive "
+                + "(id, user_id, original_file_name, stored_file_path, created_at, archived_at, status, "
+                + "label, confidence_e4, ssim_e4, lpips_e4, rm_e6, pvr_e2, model_version, heatmap_url, access_token) "
+                + "SELECT id, user_id, original_file_name, stored_file_path, created_at, NOW(6), "
+                + "IF(status = 'COMPLETED', 'COMPLETED', 'FAILED'), "
+                + "label, confidence_e4, ssim_e4, lpips_e4, rm_e6, pvr_e2, model_version, heatmap_url, access_token "
+                + "FROM " + TABLE + " PARTITION (" + partition + ")");
+
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP PARTITION " + partition);
+        log.info("[파티션 관리] 파티션 아카이브 완료: {}, 이동 {}건", partition, archived);
+    }
+
+    // pmax 를 제외한 월 파티션 이름을 오래된 순으로 조회
+    private List<String> findMonthlyPartitions() {
+        return jdbcTemplate.queryForList("SELECT PARTITION_NAME FROM information_schema.PARTITIONS "
+                        + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? "
+                        + "AND PARTITION_NAME IS NOT NULL AND PARTITION_NAME <> ? "
+                        + "ORDER BY PARTITION_ORDINAL_POSITION",
+                String.class, TABLE, MAX_PARTITION);
+    }
+}
@@ -1,23 +1,27 @@
 package com.aidetector.domain.detection;
 
 import com.aidetector.domain.detection.dto.DetectionResponseDto;
-import com.aidetector.domain.detection.dto.FastApiResponseDto;
+import com.aidetector.domain.detection.dto.HeatmapResponseDto;
+import com.aidetector.domain.detection.inference.InferenceEngine;
+import com.aidetector.domain.detection.inference.InferenceResult;
 import com.aidetector.domain.user.User;
 import com.aidetector.domain.user.UserRepository;
+import com.aidetector.domain.webhook.WebhookPublisher;
+import com.aidetector.global.monitoring.RequestTimings;
 import com.aidetector.global.util.S3Service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.MediaType;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
-import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
@@ -26,20 +30,35 @@ import java.util.Map;
 public class DetectionService {
 
     private final DetectionRepository detectionRepository;
+    private final DetectionArchiveRepository detectionArchiveRepository;
     private final UserRepository userRepository;
-    private final WebClient fastapiClient;
+    private final InferenceEngine inferenceEngine;
+    private final AnalysisScheduler analysisScheduler;
+    private final HeatmapService heatmapService;
     private final S3Service s3Service;
+    private final DetectionResultCache detectionResultCache;
+    private final WebhookPublisher webhookPublisher;
 //    private final FileStore fileStore;
 
-    public DetectionResponseDto requestDetection(MultipartFile file, String email) throws IOException {
+    @Transactional(noRollbackFor = DetectionFailedException.class)
+    public DetectionResponseDto requestDetection(MultipartFile file, String email, String clientIp) throws IOException {
+        // 단계별 시간은 JFR 이벤트와 Server-Timing 헤더로 남음 (insert 는 쓰기 지연되어 commit 단계에 포함)
+        RequestTimings timings = RequestTimings.current();
+        timings.timeCommit("commit");
+
         User user = null;
 
         if (email != null) {
-            user = userRepository.findByEmail(email).orElse(null);
+            try (RequestTimings.Stage ignored = timings.start("user-lookup")) {
+                user = userRepository.findByEmail(email).orElse(null);
+            }
         }
 
-        // 원본 이미지 저장
-        String s3Url = s3Service.upload(file);
+        // 원본 이미지 저장은 추론과 병렬로 진행 (URL 은 업로드 전에 미리 결정, 커밋 전에 완료를 기다림)
+        byte[] image = file.getBytes();
+        String key = s3Service.createKey(file.getOriginalFilename());
+        String s3Url = s3Service.getUrl(key);
+        CompletableFuture<Void> upload = s3Service.uploadAsync(image, key, file.getContentType());
 
         DetectionRequest detectionRequest = DetectionRequest.builder()
                 .user(user) // 비회원이면 null
@@ -47,76 +66,175 @@ public class DetectionService {
                 .storedFilePath(s3Url)
                 .build();
 
-        detectionRepository.save(detectionRequest);
+        try (RequestTimings.Stage ignored = timings.start("db-save")) {
+            detectionRepository.save(detectionRequest);
+        }
+
+        // bytes 판정(inline 전송, ONNX)은 바로 넘기고, url 전송은 S3 업로드가 끝난 뒤 호출
+        Supplier<InferenceResult> classify = inferenceEngine.prefersImageUrl()
+                ? () -> {
+                    upload.join();
+                    try (RequestTimings.Stage ignored = timings.start("inference")) {
+                        return inferenceEngine.classify(s3Url);
+                    }
+                }
+                : () -> {
+                    try (RequestTimings.Stage ignored = timings.start("inference")) {
+                        return inferenceEngine.classify(image);
+                    }
+                };
+
+        // 회원은 사용자 ID, 비회원은 IP 단위로 공정하게 AI 서버를 나눠 씀
+        DetectionFailedException failure = null;
+        try {
+            if (user != null) {
+                analyzeImage(classify, detectionRequest, AnalysisPriority.AUTHENTICATED, "user:" + user.getId());
+            } else {
+                analyzeImage(classify, detectionRequest, AnalysisPriority.ANONYMOUS, "ip:" + clientIp);
+            }
+        } catch (DetectionFailedException e) {
+            failure = e; // FAILED 행도 원본을 가리키므로 업로드를 기다린 뒤 커밋
+        }
 
-        analyzeImage(s3Url, detectionRequest);
+        // 원본이 저장된 뒤에만 커밋하고 URL 을 응답 (실패하면 롤백되어 존재하지 않는 객체를 가리키는 행이 남지 않음)
+        try (RequestTimings.Stage ignored = timings.start("s3-wait")) {
+            upload.join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("원본 이미지 저장 중 오류가 발생했습니다: " + e.getCause().getMessage(), e.getCause());
+        }
 
+        if (failure != null) {
+            throw failure;
+        }
         return DetectionResponseDto.fromEntity(detectionRequest);
     }
 
-    private void analyzeImage(String s3Url, DetectionRequest request) {
+    private void analyzeImage(Supplier<InferenceResult> classify, DetectionRequest request,
+                              AnalysisPriority priority, String flowKey) {
         try {
-            Map<String, String> requestBody = new HashMap<>();
-            requestBody.put("image_url", s3Url);
-
-            // FastAPI 호출
-            FastApiResponseDto response = fastapiClient.post()
-                    .uri("/predict")
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .bodyValue(requestBody)
-                    .retrieve()
-                    .bodyToMono(FastApiResponseDto.class)
-                    .block();
-
-            if (response != null) {
-                request.completeAnalysis(
-                        response.getLabel(),
-                        response.getLabelName(),
-                        response.getState(),
-                        response.getConfidence(),
-                        response.getSsim(),
-                        response.getLpips(),
-                        response.getRm(),
-                        response.getPvr(),
-                        response.getHeatmapUrl()
-                );
+            // 판정 엔진 호출 (판정만, 히트맵은 조회 시 AI 서버가 생성)
+            // scheduler = 대기열 + inference
+            InferenceResult response;
+            try (RequestTimings.Stage ignored = RequestTimings.stage("scheduler")) {
+                response = analysisScheduler
+                        .submit(priority, flowKey, classify)
+                        .join();
             }
+
+            request.completeAnalysis(
+                    response.label(),
+                    response.confidence(),
+                    response.ssim(),
+                    response.lpips(),
+                    response.rm(),
+                    response.pvr(),
+                    response.modelVersion()
+            );
+        } catch (CompletionException e) {
+            request.failAnalysis();
+            if (e.getCause() instanceof ResponseStatusException rejected) {
+                throw rejected; // 스케줄러 과부하 (503), 클라이언트가 재시도하므로 실패 알림 없음
+            }
+            webhookPublisher.publishFailed(request);
+            log.error("[분석 실패] HistoryId: {}", request.getId(), e.getCause());
+            throw new DetectionFailedException("AI 서버 분석 중 오류가 발생했습니다: " + e.getCause().getMessage(), e.getCause());
         } catch (Exception e) {
             request.failAnalysis();
-            System.err.println("FastAPI 통신 에러: " + e.getMessage());
-            throw new RuntimeException("AI 서버 분석 중 오류가 발생했습니다: " + e.getMessage(), e);
+            webhookPublisher.publishFailed(request);
+            log.error("[분석 실패] HistoryId: {}", request.getId(), e);
+            throw new DetectionFailedException("AI 서버 분석 중 오류가 발생했습니다: " + e.getMessage(), e);
         }
+
+        // 결과와 같은 트랜잭션에 webhook 전송 건 저장
+        webhookPublisher.publishCompleted(request);
     }
 
+    // 멱등 재시도 응답용: 최초 업로드 응답과 같은 형태로 반환 (히트맵 생성 없음)
     @Transactional(readOnly = true)
-    public DetectionResponseDto getDetectionDetail(Long requestId) {
-        DetectionRequest request = detectionRepository.findById(requestId)
-                .orElseThrow(() -> new IllegalArgumentException("해당 분석 기록을 찾을 수 없습니다. ID: " + requestId));
+    public DetectionResponseDto getStoredResult(Long requestId) {
+        return detectionRepository.findById(requestId)
+                .map(DetectionResponseDto::fromEntity)
+                .orElseGet(() -> getArchivedResult(requestId));
+    }
+
+    // 히트맵 생성을 기다리는 동안 DB 커넥션을 점유하지 않도록 트랜잭션 밖에서 실행
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public DetectionResponseDto getDetectionDetail(Long requestId, DetectionViewer viewer, String clientIp) {
+        DetectionRequest request = detectionRepository.findById(requestId).orElse(null);
+
+        if (request == null) {
+            DetectionResponseDto archived = getArchivedResult(requestId);
+            checkReadable(archived.getOwnerId(), archived.getAccessToken(), viewer);
+            return archived;
+        }
+
+        DetectionResponseDto response = DetectionResponseDto.fromEntity(request);
+        // 히트맵 생성 전에 확인해 남의 분석 건으로 Grad-CAM 을 돌리지 못하게 함
+        checkReadable(response.getOwnerId(), response.getAccessToken(), viewer);
+        if (request.getStatus() != DetectionStatus.COMPLETED || request.getHeatmapUrl() != null) {
+            return response;
+        }
 
-        return DetectionResponseDto.fromEntity(request);
+        return response.toBuilder()
+                .heatmapImageUrl(heatmapService.getOrCreateHeatmap(request, clientIp))
+                .build();
     }
 
-    @Transactional(readOnly = true)
-    public List<DetectionResponseDto> getUserDetectionHistory(String email) {
+    // 보존 기간이 지나 아카이브로 옮겨진 결과는 요청 시점에 아카이브에서 복원
+    private DetectionResponseDto getArchivedResult(Long requestId) {
+        return detectionArchiveRepository.findById(requestId)
+                .map(DetectionResponseDto::fromArchive)
+                .orElseThrow(() -> new IllegalArgumentException("해당 분석 기록을 찾을 수 없습니다. ID: " + requestId));
+    }
 
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public HeatmapResponseDto getHeatmap(Long requestId, DetectionViewer viewer, String clientIp) {
+        DetectionRequest request = detectionRepository.findById(requestId).orElse(null);
 
-        List<DetectionRequest> history = detectionRepository.findAllByUserOrderByCreatedAtDesc(user);
+        if (request == null) {
+            DetectionArchive archive = detectionArchiveRepository.findById(requestId)
+                    .orElseThrow(() -> new IllegalArgumentException("해당 분석 기록을 찾을 수 없습니다. ID: " + requestId));
+            checkReadable(archive.getUserId(), archive.getAccessToken(), viewer);
+            return new HeatmapResponseDto(archive.getId(), archive.getHeatmapUrl());
+        }
 
-        return history.stream()
-                .map(DetectionResponseDto::fromEntity)
-                .toList();
+        checkReadable(request.getUser() != null ? request.getUser().getId() : null, request.getAccessToken(), viewer);
+        return new HeatmapResponseDto(request.getId(), heatmapService.getOrCreateHeatmap(request, clientIp));
+    }
+
+    // 비회원 분석 건은 업로드 응답의 조회 토큰을 가진 사람만, 회원 분석 건은 본인만 조회(히트맵 생성 포함)할 수 있음
+    // 토큰의 사용자 ID 로 비교하므로 트랜잭션/커넥션 없이 끝남 (uid 클레임이 없는 기존 토큰만 이메일로 조회)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void checkReadable(Long ownerId, String accessToken, DetectionViewer viewer) {
+        if (ownerId == null) {
+            // 토큰이 없는 기존 비회원 행은 조회 불가
+            if (!ResultAccessToken.matches(accessToken, viewer.accessToken())) {
+                throw new AccessDeniedException("분석 결과를 조회할 수 있는 토큰이 아닙니다.");
+            }
+            return;
+        }
+
+        boolean isOwner;
+        if (viewer.userId() != null) {
+            isOwner = viewer.userId().equals(ownerId);
+        } else {
+            isOwner = viewer.email() != null && userRepository.findByEmail(viewer.email())
+                    .map(user -> user.getId().equals(ownerId))
+                    .orElse(false);
+        }
+        if (!isOwner) {
+            throw new AccessDeniedException("본인의 분석 결과만 조회할 수 있습니다.");
+        }
     }
 
     public void deleteDetectionHistory(Long id, String email) {
         log.info("[이력 삭제 시도] User: {}, HistoryId: {}", email, id);
 
-        DetectionRequest request = detectionRepository.findById(id)
-                .orElseThrow(() -> {
-                    log.warn("[이력 삭제 실패] 존재하지 않는 ID: {}", id);
-                    return new IllegalArgumentException("존재하지 않는 이력입니다.");
-                });
+        DetectionRequest request = detectionRepository.findById(id).orElse(null);
+        if (request == null) {
+            deleteArchivedHistory(id, email);
+            return;
+        }
 
         if (!request.getUser().getEmail().equals(email)) {
             throw new AccessDeniedException("본인의 이력만 삭제할 수 있습니다.");
@@ -129,6 +247,29 @@ public class DetectionService {
         s3Service.delete(heatmapUrl);
 
         detectionRepository.delete(request);
+        detectionResultCache.evict(id);
         log.info("[이력 삭제 완료] User: {}, HistoryId: {}", email, id);
     }
+
+    private void deleteArchivedHistory(Long id, String email) {
+        DetectionArchive archive = detectionArchiveRepository.findById(id)
+                .orElseThrow(() -> {
+                    log.warn("[이력 삭제 실패] 존재하지 않는 ID: {}", id);
+                    return new IllegalArgumentException("존재하지 않는 이력입니다.");
+                });
+
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
+
+        if (!user.getId().equals(archive.getUserId())) {
+            throw new AccessDeniedException("본인의 이력만 삭제할 수 있습니다.");
+        }
+
+        s3Service.delete(archive.getStoredFilePath());
+        s3Service.delete(archive.getHeatmapUrl());
+
+        detectionArchiveRepository.deleteArchiveById(id);
+        detectionResultCache.evict(id);
+        log.info("[이력 삭제 완료] User: {}, ArchivedHistoryId: {}", email, id);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.aidetector.domain.detection;
+
+import com.aidetector.global.security.JwtTokenProvider;
+import org.springframework.security.core.Authentication;
+
+// 분석 결과를 조회하는 사람: 비회원이면 email/userId 가 null, uid 클레임이 없는 기존 토큰이면 userId 만 null
+// accessToken 은 X-Result-Token 헤더로 보낸 비회원 분석 결과의 조회 토큰
+public record DetectionViewer(String email, Long userId, String accessToken) {
+
+    public static DetectionViewer from(Authentication authentication, String accessToken) {
+        if (authentication == null) {
+            return new DetectionViewer(null, null, accessToken);
+        }
+        return new DetectionViewer(authentication.getName(), JwtTokenProvider.getUserId(authentication), accessToken);
+    }
+}
@@ -0,0 +1,99 @@
+package com.aidetector.domain.detection;
+
+import com.aidetector.global.util.S3Service;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Grad-CAM 히트맵 지연 생성.
+ * 같은 분석 건에 대한 동시 요청은 하나의 AI 서버 호출로 합쳐지고, 생성된 URL 은 DB 에 저장되어 이후 요청에서 재사용된다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class HeatmapService {
+
+    private final AiServerClient aiServerClient;
+    private final AnalysisScheduler analysisScheduler;
+    private final DetectionRepository detectionRepository;
+    private final S3Service s3Service;
+
+    private final ConcurrentHashMap<Long, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+
+    // clientIp: 비회원 분석 건의 히트맵을 요청자 IP 단위로 공정 큐에 넣기 위함 (분석 업로드와 같은 흐름)
+    public String getOrCreateHeatmap(DetectionRequest request, String clientIp) {
+        if (request.getHeatmapUrl() != null) {
+            return request.getHeatmapUrl();
+        }
+        if (request.getStatus() != DetectionStatus.COMPLETED) {
+            throw new IllegalStateException("분석이 완료된 건만 히트맵을 생성할 수 있습니다.");
+        }
+
+        CompletableFuture<String> created = new CompletableFuture<>();
+        CompletableFuture<String> existing = inFlight.putIfAbsent(request.getId(), created);
+        if (existing != null) {
+            // 이미 생성 중인 요청에 합류
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                throw new IllegalStateException("히트맵 생성에 실패했습니다: " + e.getCause().getMessage(), e.getCause());
+            }
+        }
+
+        try {
+            String heatmapUrl = generate(request, clientIp);
+            created.complete(heatmapUrl);
+            return heatmapUrl;
+        } catch (RuntimeException e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(request.getId(), created);
+        }
+    }
+
+    private String generate(DetectionRequest request, String clientIp) {
+        AnalysisPriority priority = request.getUser() != null ? AnalysisPriority.AUTHENTICATED : AnalysisPriority.ANONYMOUS;
+        // 분석 건마다 흐름을 나누면 한 IP 가 여러 건을 요청해 공정 큐를 우회할 수 있음
+        String flowKey = request.getUser() != null ? "user:" + request.getUser().getId() : "ip:" + clientIp;
+        int label = request.getResult().getLabel().getCode();
+
+        String heatmapUrl = analysisScheduler
+                .submit(priority, flowKey, () -> render(request.getStoredFilePath(), label))
+                .join();
+
+        if (detectionRepository.updateHeatmapUrlIfAbsent(request.getId(), heatmapUrl) == 0) {
+            // 다른 노드가 먼저 저장했으면 그 URL 을 사용하고 방금 만든 객체는 정리
+            s3Service.delete(heatmapUrl);
+            return detectionRepository.findById(request.getId())
+                    .map(DetectionRequest::getHeatmapUrl)
+                    .orElseThrow(() -> new IllegalArgumentException("해당 분석 기록을 찾을 수 없습니다. ID: " + request.getId()));
+        }
+
+        log.info("[히트맵 생성] HistoryId: {}", request.getId());
+        return heatmapUrl;
+    }
+
+    // inline 전송은 원본을 S3 SDK 로 읽어 bytes 로 보내고 돌려받은 PNG 를 직접 저장
+    private String render(String imageUrl, int label) {
+        if (!aiServerClient.isInlineTransport()) {
+            return aiServerClient.createHeatmap(imageUrl, label);
+        }
+
+        try {
+            byte[] png = aiServerClient.renderHeatmap(s3Service.download(imageUrl), label);
+            return s3Service.upload(png, "heatmap_" + UUID.randomUUID() + ".png", MediaType.IMAGE_PNG_VALUE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("원본 이미지를 불러오지 못했습니다: " + imageUrl, e);
+        }
+    }
+}
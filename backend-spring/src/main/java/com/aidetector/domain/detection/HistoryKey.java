@@ -0,0 +1,7 @@
+package com.aidetector.domain.detection;
+
+import java.time.LocalDateTime;
+
+// 이력 검색 1단계 결과 (커버링 인덱스에서 읽는 정렬 키)
+public record HistoryKey(Long id, LocalDateTime createdAt) {
+}
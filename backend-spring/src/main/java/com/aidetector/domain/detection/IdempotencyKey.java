@@ -0,0 +1,33 @@
+package com.aidetector.domain.detection;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 행 생성/갱신은 IdempotencyKeyRepository 의 쿼리로만 처리 (INSERT IGNORE 로 선점)
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "idempotency_keys")
+public class IdempotencyKey {
+
+    @Id
+    private String id;
+
+    @Enumerated(EnumType.STRING)
+    private IdempotencyStatus status;
+
+    private Long detectionRequestId;
+
+    private String requestHash;        // 요청 본문(파일 + Content-Type) 의 SHA-256
+
+    private LocalDateTime createdAt;
+    private LocalDateTime expiresAt;
+}
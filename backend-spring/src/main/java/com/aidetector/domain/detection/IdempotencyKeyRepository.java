@@ -0,0 +1,40 @@
+package com.aidetector.domain.detection;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+
+    // 키 선점: 이미 있으면 0 을 반환 (노드 간 동시 요청 중 하나만 실행)
+    // expiresAt 은 처리 중 lease, 완료 시 complete 가 ttl 로 늘림
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO idempotency_keys (id, request_hash, status, created_at, expires_at) "
+            + "VALUES (:id, :requestHash, 'IN_PROGRESS', :now, :expiresAt)", nativeQuery = true)
+    int claim(String id, String requestHash, LocalDateTime now, LocalDateTime expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("update IdempotencyKey k set k.status = com.aidetector.domain.detection.IdempotencyStatus.COMPLETED, "
+            + "k.detectionRequestId = :detectionRequestId, k.expiresAt = :expiresAt where k.id = :id")
+    int complete(String id, Long detectionRequestId, LocalDateTime expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyKey k where k.id = :id")
+    void release(String id);
+
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyKey k where k.id = :id and k.expiresAt < :now")
+    int deleteIfExpired(String id, LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyKey k where k.expiresAt < :now")
+    int deleteAllExpired(LocalDateTime now);
+}
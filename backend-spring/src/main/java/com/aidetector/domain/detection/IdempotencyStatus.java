@@ -0,0 +1,5 @@
+package com.aidetector.domain.detection;
+
+public enum IdempotencyStatus {
+    IN_PROGRESS, COMPLETED
+}
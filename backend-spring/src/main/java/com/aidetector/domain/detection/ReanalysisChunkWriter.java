@@ -0,0 +1,84 @@
+package com.aidetector.domain.detection;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 재분석 청크 결과 저장.
+ * 비교 결과 insert, (applyResults 면) detection_requests 갱신, 체크포인트 이동을 한 트랜잭션으로 묶어
+ * 중간에 죽어도 청크가 반쯤 반영되거나 같은 결과가 두 번 저장되지 않게 한다.
+ * 체크포인트는 (lease 소유자, 읽은 체크포인트) 조건부 update 로 옮겨, lease 가 만료되어 다른 노드가
+ * 넘겨받은 뒤 늦게 끝난 청크는 통째로 롤백된다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReanalysisChunkWriter {
+
+    private final EntityManager entityManager;
+    private final ReanalysisJobRepository reanalysisJobRepository;
+    private final DetectionRepository detectionRepository;
+    private final DetectionResultCache detectionResultCache;
+
+    @Transactional
+    public ChunkSummary write(Long jobId, String owner, Long fromId, Long lastId, List<ReanalysisOutcome> outcomes) {
+        ReanalysisJob job = reanalysisJobRepository.findById(jobId)
+                .orElseThrow(() -> new IllegalArgumentException("재분석 작업을 찾을 수 없습니다."));
+
+        Map<Long, DetectionRequest> requests = detectionRepository
+                .findAllById(outcomes.stream().map(ReanalysisOutcome::detectionRequestId).toList())
+                .stream()
+                .collect(Collectors.toMap(DetectionRequest::getId, Function.identity()));
+
+        int processed = 0;
+        int changed = 0;
+        int failed = 0;
+
+        for (ReanalysisOutcome outcome : outcomes) {
+            if (outcome.isFailed()) {
+                failed++;
+                continue;
+            }
+            DetectionRequest request = requests.get(outcome.detectionRequestId());
+            if (request == null) {
+                continue; // 재분석 도중 사용자가 삭제
+            }
+
+            ReanalysisResult result = new ReanalysisResult(jobId, request, outcome.result(), outcome.modelVersion());
+            entityManager.persist(result);   // 복합 키라 save() 의 merge 조회를 피함
+
+            if (job.isApplyResults()) {
+                request.applyReanalysis(outcome.result(), outcome.modelVersion());
+                detectionResultCache.evict(request.getId());
+            }
+            if (result.isLabelChanged()) {
+                changed++;
+            }
+            processed++;
+        }
+
+        if (reanalysisJobRepository.advanceCheckpoint(jobId, owner, fromId, lastId,
+                processed, changed, failed, LocalDateTime.now()) == 0) {
+            throw new IllegalStateException("재분석 작업의 실행 권한을 잃었거나 체크포인트가 바뀌었습니다. (JobId: "
+                    + jobId + ", afterId: " + fromId + ")");
+        }
+        return new ChunkSummary(processed, changed, failed);
+    }
+
+    @Transactional
+    public void complete(Long jobId, String owner) {
+        reanalysisJobRepository.findById(jobId)
+                .filter(job -> owner.equals(job.getLeaseOwner()))
+                .ifPresent(ReanalysisJob::complete);
+    }
+
+    public record ChunkSummary(int processed, int changed, int failed) {
+    }
+}
@@ -0,0 +1,74 @@
+package com.aidetector.domain.detection;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 모델 교체 후 재분석 작업.
+ * detection_requests 를 id 순으로 청크 단위로 훑으며, 청크를 마칠 때마다 lastProcessedId 를
+ * 결과와 같은 트랜잭션에 저장해 재시작 후 그 다음 id 부터 이어서 진행한다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@DynamicUpdate // 완료 처리가 그 사이 바뀐 lease/체크포인트를 덮어쓰지 않도록 변경된 컬럼만 update
+@Table(name = "reanalysis_jobs")
+public class ReanalysisJob {
+
+    // 작업은 드물게 생성되므로 배치 insert 가 필요 없음
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String modelVersion;       // 목표 모델 버전 (이미 이 버전인 행은 건너뜀)
+    private boolean applyResults;      // false 면 결과 비교만 하고 detection_requests 는 그대로 둠
+
+    @Enumerated(EnumType.STRING)
+    private ReanalysisStatus status;   // 일시 정지/재개는 ReanalysisJobRepository.changeStatus 로만 변경
+
+    private Long maxId;                // 시작 시점의 MAX(id), 이후 행은 이미 새 모델로 분석됨
+    private Long lastProcessedId;      // 체크포인트 (ReanalysisJobRepository.advanceCheckpoint 로만 이동)
+    private long processed;
+    private long changed;
+    private long failed;
+
+    // 한 노드만 실행하도록 ReanalysisJobRepository.acquireLease 로만 갱신
+    private String leaseOwner;
+    private LocalDateTime leaseExpiresAt;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    private LocalDateTime finishedAt;
+
+    public ReanalysisJob(String modelVersion, boolean applyResults, Long maxId) {
+        this.modelVersion = modelVersion;
+        this.applyResults = applyResults;
+        this.status = ReanalysisStatus.RUNNING;
+        this.maxId = maxId;
+        this.lastProcessedId = 0L;
+    }
+
+    public void complete() {
+        this.status = ReanalysisStatus.COMPLETED;
+        this.finishedAt = LocalDateTime.now();
+    }
+
+    // 진행률 (id 가 고르게 분포한다고 보고 체크포인트 위치로 추정)
+    public double getProgress() {
+        if (status == ReanalysisStatus.COMPLETED || maxId == null || maxId == 0) {
+            return 1.0;
+        }
+        return Math.min(1.0, (double) lastProcessedId / maxId);
+    }
+}
@@ -0,0 +1,44 @@
+package com.aidetector.domain.detection;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+public interface ReanalysisJobRepository extends JpaRepository<ReanalysisJob, Long> {
+
+    Optional<ReanalysisJob> findFirstByStatusOrderByIdAsc(ReanalysisStatus status);
+
+    boolean existsByStatusIn(Collection<ReanalysisStatus> statuses);
+
+    @Transactional
+    @Modifying
+    @Query("update ReanalysisJob j set j.status = :to where j.id = :id and j.status = :from")
+    int changeStatus(Long id, ReanalysisStatus from, ReanalysisStatus to);
+
+    // 실행 권한 선점/연장: 다른 노드의 lease 가 살아 있으면 0 (노드가 죽으면 만료 후 넘겨받음)
+    @Transactional
+    @Modifying
+    @Query("update ReanalysisJob j set j.leaseOwner = :owner, j.leaseExpiresAt = :expiresAt "
+            + "where j.id = :id and (j.leaseOwner is null or j.leaseOwner = :owner or j.leaseExpiresAt < :now)")
+    int acquireLease(Long id, String owner, LocalDateTime now, LocalDateTime expiresAt);
+
+    // 체크포인트 이동: lease 를 가진 노드가 읽은 체크포인트에서 이어질 때만 1 (lease 를 잃은 노드의 늦은 커밋이면 0)
+    @Transactional
+    @Modifying
+    @Query("update ReanalysisJob j set j.lastProcessedId = :toId, j.processed = j.processed + :processed, "
+            + "j.changed = j.changed + :changed, j.failed = j.failed + :failed, j.updatedAt = :now "
+            + "where j.id = :id and j.leaseOwner = :owner and j.lastProcessedId = :fromId")
+    int advanceCheckpoint(Long id, String owner, Long fromId, Long toId,
+                          int processed, int changed, int failed, LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("update ReanalysisJob j set j.leaseOwner = null, j.leaseExpiresAt = null "
+            + "where j.id = :id and j.leaseOwner = :owner")
+    void releaseLease(Long id, String owner);
+}
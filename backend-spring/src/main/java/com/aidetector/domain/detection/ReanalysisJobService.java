@@ -0,0 +1,75 @@
+package com.aidetector.domain.detection;
+
+import com.aidetector.domain.detection.dto.ReanalysisDiffDto;
+import com.aidetector.domain.detection.dto.ReanalysisJobResponseDto;
+import com.aidetector.domain.detection.inference.InferenceEngine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.EnumSet;
+import java.util.List;
+
+// 재분석 작업 관리 (실행은 ReanalysisRunner 가 커밋된 상태를 읽어 진행하므로 저장 후 launch)
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReanalysisJobService {
+
+    private static final int MAX_DIFF_PAGE_SIZE = 500;
+
+    private final ReanalysisJobRepository reanalysisJobRepository;
+    private final ReanalysisResultRepository reanalysisResultRepository;
+    private final DetectionRepository detectionRepository;
+    private final InferenceEngine inferenceEngine;
+    private final ReanalysisRunner reanalysisRunner;
+
+    public ReanalysisJobResponseDto start(boolean applyResults) {
+        if (reanalysisJobRepository.existsByStatusIn(EnumSet.of(ReanalysisStatus.RUNNING, ReanalysisStatus.PAUSED))) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "끝나지 않은 재분석 작업이 있습니다.");
+        }
+
+        String modelVersion = inferenceEngine.getModelVersion();
+        ReanalysisJob job = reanalysisJobRepository.save(
+                new ReanalysisJob(modelVersion, applyResults, detectionRepository.findMaxId()));
+        log.info("[재분석 시작] JobId: {}, ModelVersion: {}, MaxId: {}, 반영: {}",
+                job.getId(), modelVersion, job.getMaxId(), applyResults);
+
+        reanalysisRunner.launch(job.getId());
+        return ReanalysisJobResponseDto.fromEntity(job);
+    }
+
+    public ReanalysisJobResponseDto getJob(Long jobId) {
+        return ReanalysisJobResponseDto.fromEntity(findJob(jobId));
+    }
+
+    // 실행 중인 청크는 마저 저장하고 다음 청크 전에 멈춤
+    public ReanalysisJobResponseDto pause(Long jobId) {
+        reanalysisJobRepository.changeStatus(jobId, ReanalysisStatus.RUNNING, ReanalysisStatus.PAUSED);
+        return getJob(jobId);
+    }
+
+    public ReanalysisJobResponseDto resume(Long jobId) {
+        if (reanalysisJobRepository.changeStatus(jobId, ReanalysisStatus.PAUSED, ReanalysisStatus.RUNNING) > 0) {
+            reanalysisRunner.launch(jobId);
+        }
+        return getJob(jobId);
+    }
+
+    // 라벨이 바뀐 결과를 detectionRequestId 순으로 (afterId 다음부터)
+    public List<ReanalysisDiffDto> getChanges(Long jobId, Long afterId, int size) {
+        return reanalysisResultRepository
+                .findChanges(jobId, afterId, Limit.of(Math.min(Math.max(size, 1), MAX_DIFF_PAGE_SIZE)))
+                .stream()
+                .map(ReanalysisDiffDto::fromEntity)
+                .toList();
+    }
+
+    private ReanalysisJob findJob(Long jobId) {
+        return reanalysisJobRepository.findById(jobId)
+                .orElseThrow(() -> new IllegalArgumentException("재분석 작업을 찾을 수 없습니다."));
+    }
+}
@@ -0,0 +1,13 @@
+package com.aidetector.domain.detection;
+
+// 한 건의 재분석 결과 (result 가 null 이면 실패)
+record ReanalysisOutcome(Long detectionRequestId, DetectionResult result, String modelVersion) {
+
+    static ReanalysisOutcome failed(Long detectionRequestId) {
+        return new ReanalysisOutcome(detectionRequestId, null, null);
+    }
+
+    boolean isFailed() {
+        return result == null;
+    }
+}
@@ -0,0 +1,69 @@
+package com.aidetector.domain.detection;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+// 재분석 전/후 결과를 나란히 저장 (비교용, 작업 단위로 조회)
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@IdClass(ReanalysisResult.Key.class)
+@Table(name = "reanalysis_results")
+public class ReanalysisResult {
+
+    @Id
+    private Long jobId;
+
+    @Id
+    private Long detectionRequestId;
+
+    private String previousModelVersion;
+
+    @Embedded
+    @AttributeOverrides({
+            @AttributeOverride(name = "label", column = @Column(name = "previous_label", columnDefinition = "TINYINT")),
+            @AttributeOverride(name = "confidenceE4", column = @Column(name = "previous_confidence_e4", nullable = false)),
+            @AttributeOverride(name = "ssimE4", column = @Column(name = "previous_ssim_e4", nullable = false)),
+            @AttributeOverride(name = "lpipsE4", column = @Column(name = "previous_lpips_e4", nullable = false)),
+            @AttributeOverride(name = "rmE6", column = @Column(name = "previous_rm_e6", nullable = false)),
+            @AttributeOverride(name = "pvrE2", column = @Column(name = "previous_pvr_e2", nullable = false))
+    })
+    private DetectionResult previousResult;
+
+    private String modelVersion;
+
+    @Embedded
+    private DetectionResult result;
+
+    private boolean labelChanged;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    ReanalysisResult(Long jobId, DetectionRequest request, DetectionResult result, String modelVersion) {
+        this.jobId = jobId;
+        this.detectionRequestId = request.getId();
+        this.previousModelVersion = request.getModelVersion();
+        this.previousResult = request.getResult();
+        this.modelVersion = modelVersion;
+        this.result = result;
+        this.labelChanged = !Objects.equals(previousResult.getLabel(), result.getLabel());
+    }
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private Long jobId;
+        private Long detectionRequestId;
+    }
+}
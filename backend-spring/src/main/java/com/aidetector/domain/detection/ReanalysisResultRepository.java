@@ -0,0 +1,15 @@
+package com.aidetector.domain.detection;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface ReanalysisResultRepository extends JpaRepository<ReanalysisResult, ReanalysisResult.Key> {
+
+    // 라벨이 바뀐 결과만 id 순 keyset 으로 조회 (idx_reanalysis_changed)
+    @Query("select r from ReanalysisResult r where r.jobId = :jobId and r.labelChanged = true "
+            + "and r.detectionRequestId > :afterId order by r.detectionRequestId")
+    List<ReanalysisResult> findChanges(Long jobId, Long afterId, Limit limit);
+}
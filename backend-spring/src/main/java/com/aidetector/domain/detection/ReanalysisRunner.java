@@ -0,0 +1,237 @@
+package com.aidetector.domain.detection;
+
+import com.aidetector.domain.detection.inference.InferenceEngine;
+import com.aidetector.domain.detection.inference.InferenceResult;
+import com.aidetector.global.util.S3Service;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 재분석 작업 실행기 (노드당 최대 한 작업).
+ * - detection_requests 를 id 순 keyset 청크로 읽고, 청크를 마칠 때마다 체크포인트를 저장
+ * - 판정 호출은 AnalysisScheduler 의 BATCH 클래스(weight 1)로 보내고, 동시에 max-in-flight 건까지만 내보내
+ *   실시간 요청이 항상 남은 슬롯과 큰 몫을 가져가게 함
+ * - 기동 시와 주기적으로 RUNNING 작업을 찾아 이어서 실행 (lease 로 한 노드만 실행)
+ */
+@Component
+@Slf4j
+public class ReanalysisRunner {
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long RETRY_BACKOFF_MILLIS = 5_000;
+
+    private final ReanalysisJobRepository reanalysisJobRepository;
+    private final DetectionRepository detectionRepository;
+    private final ReanalysisChunkWriter reanalysisChunkWriter;
+    private final InferenceEngine inferenceEngine;
+    private final AnalysisScheduler analysisScheduler;
+    private final S3Service s3Service;
+
+    private final int chunkSize;
+    private final Duration leaseDuration;
+    private final Semaphore budget;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Counter unchangedItems;
+    private final Counter changedItems;
+    private final Counter failedItems;
+    private final Timer chunkTimer;
+
+    private volatile Thread worker;
+    private volatile boolean running = true;
+    private volatile double progress;
+
+    public ReanalysisRunner(ReanalysisJobRepository reanalysisJobRepository,
+                            DetectionRepository detectionRepository,
+                            ReanalysisChunkWriter reanalysisChunkWriter,
+                            InferenceEngine inferenceEngine,
+                            AnalysisScheduler analysisScheduler,
+                            S3Service s3Service,
+                            MeterRegistry meterRegistry,
+                            @Value("${detection.reanalysis.chunk-size:100}") int chunkSize,
+                            @Value("${detection.reanalysis.max-in-flight:2}") int maxInFlight,
+                            @Value("${detection.reanalysis.lease:5m}") Duration leaseDuration) {
+        this.reanalysisJobRepository = reanalysisJobRepository;
+        this.detectionRepository = detectionRepository;
+        this.reanalysisChunkWriter = reanalysisChunkWriter;
+        this.inferenceEngine = inferenceEngine;
+        this.analysisScheduler = analysisScheduler;
+        this.s3Service = s3Service;
+        this.chunkSize = chunkSize;
+        this.leaseDuration = leaseDuration;
+        this.budget = new Semaphore(maxInFlight);
+
+        this.unchangedItems = Counter.builder("reanalysis.items").tag("outcome", "unchanged").register(meterRegistry);
+        this.changedItems = Counter.builder("reanalysis.items").tag("outcome", "changed").register(meterRegistry);
+        this.failedItems = Counter.builder("reanalysis.items").tag("outcome", "failed").register(meterRegistry);
+        this.chunkTimer = Timer.builder("reanalysis.chunk").register(meterRegistry);
+        Gauge.builder("reanalysis.progress", () -> progress).register(meterRegistry);
+        Gauge.builder("reanalysis.running", () -> worker != null ? 1 : 0).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeOnStartup() {
+        resumePending();
+    }
+
+    // 실행 중이던 노드가 죽었으면 lease 만료 후 다른 노드가 넘겨받음
+    @Scheduled(fixedDelayString = "${detection.reanalysis.pickup-interval:PT1M}")
+    public void resumePending() {
+        reanalysisJobRepository.findFirstByStatusOrderByIdAsc(ReanalysisStatus.RUNNING)
+                .ifPresent(job -> launch(job.getId()));
+    }
+
+    public synchronized void launch(Long jobId) {
+        if (!running || worker != null) {
+            return;
+        }
+        worker = Thread.ofVirtual().name("reanalysis-" + jobId).start(() -> {
+            try {
+                run(jobId);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.error("[재분석 중단] JobId: {}, 다음 주기에 체크포인트부터 다시 시도합니다.", jobId, e);
+            } finally {
+                reanalysisJobRepository.releaseLease(jobId, nodeId);
+                worker = null;
+            }
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        Thread current = worker;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    private void run(Long jobId) throws InterruptedException {
+        while (running) {
+            LocalDateTime now = LocalDateTime.now();
+            if (reanalysisJobRepository.acquireLease(jobId, nodeId, now, now.plus(leaseDuration)) == 0) {
+                return; // 다른 노드가 실행 중
+            }
+
+            ReanalysisJob job = reanalysisJobRepository.findById(jobId).orElse(null);
+            if (job == null || job.getStatus() != ReanalysisStatus.RUNNING) {
+                return; // 일시 정지됨
+            }
+            progress = job.getProgress();
+
+            List<ReanalysisTarget> chunk = detectionRepository.findReanalysisTargets(
+                    job.getLastProcessedId(), job.getMaxId(), job.getModelVersion(), Limit.of(chunkSize));
+            if (chunk.isEmpty()) {
+                reanalysisChunkWriter.complete(jobId, nodeId);
+                progress = 1.0;
+                log.info("[재분석 완료] JobId: {}, 처리 {}건, 라벨 변경 {}건, 실패 {}건",
+                        jobId, job.getProcessed(), job.getChanged(), job.getFailed());
+                return;
+            }
+
+            long startedAt = System.nanoTime();
+            List<ReanalysisOutcome> outcomes = analyze(jobId, chunk);
+            if (outcomes.stream().allMatch(ReanalysisOutcome::isFailed)) {
+                // AI 서버 장애로 보고 체크포인트를 넘기지 않음 (다음 주기에 같은 청크부터 재시도)
+                throw new IllegalStateException("청크 전체가 실패했습니다. (afterId: " + job.getLastProcessedId() + ")");
+            }
+            Long lastId = chunk.get(chunk.size() - 1).id();
+            ReanalysisChunkWriter.ChunkSummary summary = reanalysisChunkWriter.write(
+                    jobId, nodeId, job.getLastProcessedId(), lastId, outcomes);
+            chunkTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+
+            changedItems.increment(summary.changed());
+            unchangedItems.increment(summary.processed() - summary.changed());
+            failedItems.increment(summary.failed());
+        }
+    }
+
+    private List<ReanalysisOutcome> analyze(Long jobId, List<ReanalysisTarget> chunk) throws InterruptedException {
+        List<ReanalysisOutcome> outcomes = new ArrayList<>(chunk.size());
+        List<ReanalysisTarget> pending = chunk;
+
+        for (int attempt = 1; !pending.isEmpty(); attempt++) {
+            Map<ReanalysisTarget, CompletableFuture<InferenceResult>> futures = new LinkedHashMap<>();
+            for (ReanalysisTarget target : pending) {
+                // 예산이 찰 때까지 기다리므로 BATCH 큐에는 max-in-flight 건 이상 쌓이지 않음
+                budget.acquire();
+                CompletableFuture<InferenceResult> future = analysisScheduler.submit(
+                        AnalysisPriority.BATCH, "reanalysis:" + jobId, () -> classify(target));
+                future.whenComplete((response, e) -> budget.release());
+                futures.put(target, future);
+            }
+
+            List<ReanalysisTarget> shed = new ArrayList<>();
+            for (Map.Entry<ReanalysisTarget, CompletableFuture<InferenceResult>> entry : futures.entrySet()) {
+                ReanalysisTarget target = entry.getKey();
+                try {
+                    outcomes.add(toOutcome(target, entry.getValue().join()));
+                } catch (CompletionException e) {
+                    // 스케줄러가 실시간 요청에 밀려 버린 작업(503)은 잠시 뒤 다시 보냄
+                    if (e.getCause() instanceof ResponseStatusException && attempt < MAX_ATTEMPTS) {
+                        shed.add(target);
+                    } else {
+                        log.warn("[재분석 실패] HistoryId: {}, 원인: {}", target.id(), e.getCause().getMessage());
+                        outcomes.add(ReanalysisOutcome.failed(target.id()));
+                    }
+                }
+            }
+
+            pending = shed;
+            if (!pending.isEmpty()) {
+                Thread.sleep(RETRY_BACKOFF_MILLIS * attempt);
+            }
+        }
+        return outcomes;
+    }
+
+    private InferenceResult classify(ReanalysisTarget target) {
+        if (inferenceEngine.prefersImageUrl()) {
+            return inferenceEngine.classify(target.storedFilePath());
+        }
+        try {
+            return inferenceEngine.classify(s3Service.download(target.storedFilePath()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ReanalysisOutcome toOutcome(ReanalysisTarget target, InferenceResult response) {
+        DetectionResult result = DetectionResult.of(
+                response.label(),
+                response.confidence(),
+                response.ssim(),
+                response.lpips(),
+                response.rm(),
+                response.pvr()
+        );
+        return new ReanalysisOutcome(target.id(), result, response.modelVersion());
+    }
+}
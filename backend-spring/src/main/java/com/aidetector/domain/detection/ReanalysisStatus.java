@@ -0,0 +1,5 @@
+package com.aidetector.domain.detection;
+
+public enum ReanalysisStatus {
+    RUNNING, PAUSED, COMPLETED
+}
@@ -0,0 +1,5 @@
+package com.aidetector.domain.detection;
+
+// 재분석 keyset 조회 결과 (엔티티 대신 필요한 컬럼만)
+public record ReanalysisTarget(Long id, String storedFilePath) {
+}
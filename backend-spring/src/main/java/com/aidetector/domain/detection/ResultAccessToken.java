@@ -0,0 +1,30 @@
+package com.aidetector.domain.detection;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+// 비회원 분석 결과의 조회 토큰: 순차 ID 만으로는 남의 결과를 열 수 없도록 업로드한 사람에게만 전달
+final class ResultAccessToken {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private ResultAccessToken() {
+    }
+
+    // 256비트 난수의 URL-safe Base64 (패딩 없이 43자)
+    static String generate() {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    // 응답 시간으로 토큰을 추측하지 못하도록 고정 시간 비교
+    static boolean matches(String expected, String actual) {
+        if (expected == null || actual == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(expected.getBytes(StandardCharsets.US_ASCII), actual.getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,29 @@
+package com.aidetector.domain.detection.dto;
+
+import com.aidetector.domain.detection.DetectionLabel;
+import com.aidetector.domain.detection.DetectionStatus;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 이력 검색 조건 (모두 선택, 쿼리 파라미터로 바인딩).
+ * - label: SLEEK_FAKE 처럼 라벨 이름, state: Low Risk 처럼 위험도 (둘 다 주면 교집합)
+ * - minConfidence/maxConfidence: 0~1, 분석이 끝난 결과만 대상
+ * - from/to: 생성일 (to 포함)
+ */
+public record DetectionHistoryCondition(
+        DetectionStatus status,
+        List<DetectionLabel> label,
+        List<String> state,
+        Double minConfidence,
+        Double maxConfidence,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+) {
+
+    public static DetectionHistoryCondition none() {
+        return new DetectionHistoryCondition(null, null, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,15 @@
+package com.aidetector.domain.detection.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class DetectionHistoryPageDto {
+    private List<DetectionResponseDto> items;
+    private Long totalCount;                 // 첫 페이지에서만 계산, 다음 페이지는 null
+    private boolean totalCountApproximate;   // true 면 totalCount 이상 (count-limit 에서 세기를 멈춤)
+    private String nextCursor;               // 다음 페이지 요청에 그대로 전달, 마지막 페이지면 null
+}
@@ -1,12 +1,18 @@
 package com.aidetector.domain.detection.dto;
 
+import com.aidetector.domain.detection.DetectionArchive;
+import com.aidetector.domain.detection.DetectionLabel;
 import com.aidetector.domain.detection.DetectionRequest;
+import com.aidetector.domain.detection.DetectionResult;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
+import org.springframework.context.i18n.LocaleContextHolder;
 
 @Getter
-@Builder
+@Builder(toBuilder = true)
 @AllArgsConstructor
 public class DetectionResponseDto {
     private Long id;
@@ -20,18 +26,45 @@ public class DetectionResponseDto {
     private String originalImageUrl;
     private String heatmapImageUrl;
 
+    // 조회 권한 확인용 (비회원 분석 건은 null), 응답에는 포함하지 않음
+    @JsonIgnore
+    private Long ownerId;
+
+    // 비회원 분석 건의 조회 토큰: 업로드 응답으로 받아 조회 시 X-Result-Token 헤더로 전달 (회원 분석 건은 생략)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String accessToken;
+
     public static DetectionResponseDto fromEntity(DetectionRequest entity) {
-        return DetectionResponseDto.builder()
+        return withResult(entity.getResult())
                 .id(entity.getId())
-                .labelName(entity.getLabelName())
-                .state(entity.getState())
-                .confidence(entity.getConfidence())
-                .ssim(entity.getSsim())
-                .lpips(entity.getLpips())
-                .rm(entity.getRm())
-                .pvr(entity.getPvr())
                 .originalImageUrl(entity.getStoredFilePath())
                 .heatmapImageUrl(entity.getHeatmapUrl())
+                .ownerId(entity.getUser() != null ? entity.getUser().getId() : null)
+                .accessToken(entity.getAccessToken())
+                .build();
+    }
+
+    public static DetectionResponseDto fromArchive(DetectionArchive archive) {
+        return withResult(archive.getResult())
+                .id(archive.getId())
+                .originalImageUrl(archive.getStoredFilePath())
+                .heatmapImageUrl(archive.getHeatmapUrl())
+                .ownerId(archive.getUserId())
+                .accessToken(archive.getAccessToken())
                 .build();
     }
-}
\ No newline at end of file
+
+    // 라벨 이름은 요청 Locale(Accept-Language) 에 맞춰 레지스트리에서 조회
+    private static DetectionResponseDtoBuilder withResult(DetectionResult result) {
+        DetectionLabel label = result.getLabel();
+
+        return DetectionResponseDto.builder()
+                .labelName(label != null ? label.getName(LocaleContextHolder.getLocale()) : null)
+                .state(label != null ? label.getState() : null)
+                .confidence(result.getConfidence())
+                .ssim(result.getSsim())
+                .lpips(result.getLpips())
+                .rm(result.getRm())
+                .pvr(result.getPvr());
+    }
+}
@@ -0,0 +1,10 @@
+package com.aidetector.domain.detection.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+public class FastApiHeatmapResponseDto {
+    private String heatmapUrl;
+}
@@ -7,12 +7,10 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 public class FastApiResponseDto {
     private Integer label;
-    private String labelName;
-    private String state;
     private Double confidence;
     private Double ssim;
     private Double lpips;
     private Double rm;
     private Double pvr;
-    private String heatmapUrl;
+    private String modelVersion;
 }
@@ -0,0 +1,11 @@
+package com.aidetector.domain.detection.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class HeatmapResponseDto {
+    private Long id;
+    private String heatmapImageUrl;
+}
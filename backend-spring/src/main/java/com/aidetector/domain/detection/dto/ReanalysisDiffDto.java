@@ -0,0 +1,41 @@
+package com.aidetector.domain.detection.dto;
+
+import com.aidetector.domain.detection.DetectionLabel;
+import com.aidetector.domain.detection.ReanalysisResult;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.context.i18n.LocaleContextHolder;
+
+import java.util.Locale;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class ReanalysisDiffDto {
+    private Long detectionRequestId;
+    private String previousModelVersion;
+    private String previousLabelName;
+    private Double previousConfidence;
+    private String modelVersion;
+    private String labelName;
+    private Double confidence;
+
+    public static ReanalysisDiffDto fromEntity(ReanalysisResult entity) {
+        Locale locale = LocaleContextHolder.getLocale();
+
+        return ReanalysisDiffDto.builder()
+                .detectionRequestId(entity.getDetectionRequestId())
+                .previousModelVersion(entity.getPreviousModelVersion())
+                .previousLabelName(labelName(entity.getPreviousResult().getLabel(), locale))
+                .previousConfidence(entity.getPreviousResult().getConfidence())
+                .modelVersion(entity.getModelVersion())
+                .labelName(labelName(entity.getResult().getLabel(), locale))
+                .confidence(entity.getResult().getConfidence())
+                .build();
+    }
+
+    private static String labelName(DetectionLabel label, Locale locale) {
+        return label != null ? label.getName(locale) : null;
+    }
+}
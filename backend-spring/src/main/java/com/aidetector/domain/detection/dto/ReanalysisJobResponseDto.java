@@ -0,0 +1,45 @@
+package com.aidetector.domain.detection.dto;
+
+import com.aidetector.domain.detection.ReanalysisJob;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class ReanalysisJobResponseDto {
+    private Long id;
+    private String modelVersion;
+    private boolean applyResults;
+    private String status;
+    private Long maxId;
+    private Long lastProcessedId;
+    private long processed;
+    private long changed;
+    private long failed;
+    private double progress;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime finishedAt;
+
+    public static ReanalysisJobResponseDto fromEntity(ReanalysisJob job) {
+        return ReanalysisJobResponseDto.builder()
+                .id(job.getId())
+                .modelVersion(job.getModelVersion())
+                .applyResults(job.isApplyResults())
+                .status(job.getStatus().name())
+                .maxId(job.getMaxId())
+                .lastProcessedId(job.getLastProcessedId())
+                .processed(job.getProcessed())
+                .changed(job.getChanged())
+                .failed(job.getFailed())
+                .progress(job.getProgress())
+                .createdAt(job.getCreatedAt())
+                .updatedAt(job.getUpdatedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+}
@@ -0,0 +1,50 @@
+package com.aidetector.domain.detection.inference;
+
+import com.aidetector.domain.detection.AiServerClient;
+import com.aidetector.domain.detection.dto.FastApiResponseDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "inference.engine", havingValue = "fastapi", matchIfMissing = true)
+@RequiredArgsConstructor
+public class FastApiInferenceEngine implements InferenceEngine {
+
+    private final AiServerClient aiServerClient;
+
+    @Override
+    public InferenceResult classify(byte[] image) {
+        return toResult(aiServerClient.classify(image));
+    }
+
+    @Override
+    public InferenceResult classify(String imageUrl) {
+        return toResult(aiServerClient.classify(imageUrl));
+    }
+
+    @Override
+    public boolean prefersImageUrl() {
+        return !aiServerClient.isInlineTransport();
+    }
+
+    @Override
+    public String getModelVersion() {
+        return aiServerClient.getModelVersion();
+    }
+
+    private static InferenceResult toResult(FastApiResponseDto response) {
+        if (response == null || response.getLabel() == null) {
+            throw new IllegalStateException("AI 서버가 판정 결과를 반환하지 않았습니다.");
+        }
+        return new InferenceResult(
+                response.getLabel(),
+                response.getConfidence(),
+                response.getSsim(),
+                response.getLpips(),
+                response.getRm(),
+                response.getPvr(),
+                response.getModelVersion()
+        );
+    }
+}
@@ -0,0 +1,20 @@
+package com.aidetector.domain.detection.inference;
+
+/**
+ * 이미지 판정 엔진 (inference.engine 으로 선택).
+ * - fastapi: AI 서버(FastAPI) 호출 ({@link FastApiInferenceEngine})
+ * - onnx: JVM 안에서 ONNX Runtime 으로 판정 ({@link OnnxInferenceEngine})
+ * Grad-CAM 히트맵은 역전파가 필요해 엔진과 관계없이 AI 서버가 만든다 (HeatmapService).
+ */
+public interface InferenceEngine {
+
+    InferenceResult classify(byte[] image);
+
+    // 이미지 URL 로 판정 (모든 엔진이 지원, prefersImageUrl 이 false 면 엔진이 원본을 직접 받아 판정)
+    InferenceResult classify(String imageUrl);
+
+    // true 면 호출 측이 S3 업로드를 마친 뒤 URL 을 넘기고, false 면 이미지 bytes 를 넘김
+    boolean prefersImageUrl();
+
+    String getModelVersion();
+}
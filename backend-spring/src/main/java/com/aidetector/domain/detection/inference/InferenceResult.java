@@ -0,0 +1,6 @@
+package com.aidetector.domain.detection.inference;
+
+// 판정 결과 (지표 반올림 자릿수는 FastAPI 응답과 같음: confidence/ssim/lpips 4자리, rm 6자리, pvr 2자리)
+public record InferenceResult(int label, double confidence, double ssim, double lpips,
+                              double rm, double pvr, String modelVersion) {
+}
@@ -0,0 +1,299 @@
+package com.aidetector.domain.detection.inference;
+
+import ai.onnxruntime.OnnxTensor;
+import ai.onnxruntime.OrtEnvironment;
+import ai.onnxruntime.OrtException;
+import ai.onnxruntime.OrtSession;
+import com.aidetector.global.util.S3Service;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * ONNX Runtime 판정 엔진 (ai-server/scripts/export_onnx.py 로 변환한 Swin 분류기).
+ * AI 서버 왕복, JSON 변환, S3 재다운로드 없이 JVM 안에서 판정한다.
+ * - 세션 풀: 세션마다 intra-op 스레드를 (코어 수 / 세션 수) 만큼 주어 동시에 돌아도 코어를 넘지 않게 함
+ *   (세션마다 가중치를 따로 올리므로 메모리는 모델 크기 x 세션 수)
+ * - 세션마다 입력 텐서를 감싼 direct buffer 와 픽셀 배열을 한 번만 만들어 재사용
+ * - 전처리/지표는 inference.py 와 같음: 256x256 bilinear 리사이즈, ImageNet 정규화, 원본 해상도 RM/PVR
+ */
+@Component
+@ConditionalOnProperty(name = "inference.engine", havingValue = "onnx")
+@Slf4j
+public class OnnxInferenceEngine implements InferenceEngine {
+
+    private static final int IMAGE_SIZE = 256;
+    private static final int CHANNEL_SIZE = IMAGE_SIZE * IMAGE_SIZE;
+    private static final float[] MEAN = {0.485f, 0.456f, 0.406f};
+    private static final float[] STD = {0.229f, 0.224f, 0.225f};
+
+    private final OrtEnvironment environment = OrtEnvironment.getEnvironment();
+    private final List<SessionSlot> slots = new ArrayList<>();
+    private final BlockingQueue<SessionSlot> pool;
+    private final S3Service s3Service;
+    private final String modelVersion;
+    private final Stats stats;
+
+    public OnnxInferenceEngine(ResourceLoader resourceLoader,
+                               ObjectMapper objectMapper,
+                               S3Service s3Service,
+                               @Value("${inference.onnx.model-path}") String modelPath,
+                               @Value("${inference.onnx.sessions:2}") int sessions,
+                               @Value("${inference.onnx.intra-op-threads:0}") int intraOpThreads)
+            throws IOException, OrtException, NoSuchAlgorithmException {
+        this.s3Service = s3Service;
+
+        byte[] model;
+        try (InputStream in = resourceLoader.getResource(modelPath).getInputStream()) {
+            model = in.readAllBytes();
+        }
+
+        int threads = intraOpThreads > 0
+                ? intraOpThreads
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / sessions);
+        this.pool = new ArrayBlockingQueue<>(sessions);
+
+        try (OrtSession.SessionOptions options = new OrtSession.SessionOptions()) {
+            options.setOptimizationLevel(OrtSession.SessionOptions.OptLevel.ALL_OPT);
+            options.setExecutionMode(OrtSession.SessionOptions.ExecutionMode.SEQUENTIAL);
+            options.setIntraOpNumThreads(threads);
+            options.setInterOpNumThreads(1);
+
+            for (int i = 0; i < sessions; i++) {
+                SessionSlot slot = new SessionSlot(environment, environment.createSession(model, options));
+                slots.add(slot);
+                pool.add(slot);
+            }
+        }
+
+        Map<String, String> metadata = slots.get(0).session.getMetadata().getCustomMetadata();
+        this.modelVersion = metadata.getOrDefault("model_version",
+                "onnx@" + HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(model)).substring(0, 12));
+        this.stats = Stats.parse(objectMapper, metadata.get("stats"));
+
+        log.info("[ONNX] 모델 로드: {}, 세션 {}개 x intra-op 스레드 {}개, 버전 {}", modelPath, sessions, threads, modelVersion);
+    }
+
+    @Override
+    public InferenceResult classify(byte[] image) {
+        BufferedImage decoded = decode(image);
+        ResidualStatistics.Result residual = ResidualStatistics.compute(decoded);
+
+        SessionSlot slot = borrow();
+        try {
+            return slot.run(decoded, residual);
+        } catch (OrtException e) {
+            throw new IllegalStateException("ONNX 추론 중 오류가 발생했습니다: " + e.getMessage(), e);
+        } finally {
+            pool.add(slot);
+        }
+    }
+
+    // url 로 넘어온 경우(재분석 등)는 원본을 S3 SDK 로 직접 받아 같은 경로로 판정
+    @Override
+    public InferenceResult classify(String imageUrl) {
+        try {
+            return classify(s3Service.download(imageUrl));
+        } catch (IOException e) {
+            throw new UncheckedIOException("원본 이미지를 불러오지 못했습니다: " + imageUrl, e);
+        }
+    }
+
+    @Override
+    public boolean prefersImageUrl() {
+        return false;
+    }
+
+    @Override
+    public String getModelVersion() {
+        return modelVersion;
+    }
+
+    @PreDestroy
+    public void close() throws OrtException {
+        for (SessionSlot slot : slots) {
+            slot.close();
+        }
+    }
+
+    private SessionSlot borrow() {
+        try {
+            return pool.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("ONNX 세션을 기다리는 중 중단되었습니다.", e);
+        }
+    }
+
+    private static BufferedImage decode(byte[] image) {
+        BufferedImage decoded;
+        try {
+            decoded = ImageIO.read(new ByteArrayInputStream(image));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (decoded == null) {
+            throw new IllegalArgumentException("이미지를 해석할 수 없습니다.");
+        }
+        return decoded;
+    }
+
+    // 큰 이미지는 절반씩 줄인 뒤 마지막에 256 으로 맞춤 (PIL 의 antialias bilinear 와 비슷한 결과)
+    private static BufferedImage resize(BufferedImage source) {
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+
+        do {
+            width = width / 2 >= IMAGE_SIZE ? width / 2 : IMAGE_SIZE;
+            height = height / 2 >= IMAGE_SIZE ? height / 2 : IMAGE_SIZE;
+
+            BufferedImage next = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = next.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(current, 0, 0, width, height, null);
+            graphics.dispose();
+            current = next;
+        } while (width != IMAGE_SIZE || height != IMAGE_SIZE);
+
+        return current;
+    }
+
+    private final class SessionSlot {
+
+        private final OrtSession session;
+        private final String inputName;
+        private final FloatBuffer input;
+        private final OnnxTensor tensor;
+        private final int[] pixels = new int[CHANNEL_SIZE];
+
+        private SessionSlot(OrtEnvironment environment, OrtSession session) throws OrtException {
+            this.session = session;
+            this.inputName = session.getInputNames().iterator().next();
+            // direct buffer 로 만든 텐서는 버퍼 메모리를 그대로 쓰므로 값만 바꿔 매번 재사용
+            this.input = ByteBuffer.allocateDirect(3 * CHANNEL_SIZE * Float.BYTES)
+                    .order(ByteOrder.nativeOrder())
+                    .asFloatBuffer();
+            this.tensor = OnnxTensor.createTensor(environment, input, new long[]{1, 3, IMAGE_SIZE, IMAGE_SIZE});
+        }
+
+        private InferenceResult run(BufferedImage image, ResidualStatistics.Result residual) throws OrtException {
+            fillInput(resize(image));
+
+            try (OrtSession.Result outputs = session.run(Map.of(inputName, tensor))) {
+                float[] logits = ((float[][]) outputs.get("logits").orElseThrow().getValue())[0];
+                float ssim = ((float[][]) outputs.get("ssim").orElseThrow().getValue())[0][0];
+                float lpips = ((float[][]) outputs.get("lpips").orElseThrow().getValue())[0][0];
+
+                int label = argmax(logits);
+                return new InferenceResult(
+                        label,
+                        round(softmax(logits, label), 4),
+                        round(stats.ssim(ssim), 4),
+                        round(stats.lpips(lpips), 4),
+                        round(residual.rm(), 6),
+                        round(residual.pvr(), 2),
+                        modelVersion
+                );
+            }
+        }
+
+        // NCHW, ToTensor(/255) + Normalize(mean, std)
+        private void fillInput(BufferedImage resized) {
+            resized.getRGB(0, 0, IMAGE_SIZE, IMAGE_SIZE, pixels, 0, IMAGE_SIZE);
+            input.clear();
+            for (int channel = 0; channel < 3; channel++) {
+                int shift = 16 - channel * 8;
+                float mean = MEAN[channel];
+                float std = STD[channel];
+                for (int pixel : pixels) {
+                    input.put((((pixel >> shift) & 0xFF) / 255f - mean) / std);
+                }
+            }
+            input.rewind();
+        }
+
+        private void close() throws OrtException {
+            tensor.close();
+            session.close();
+        }
+    }
+
+    private static int argmax(float[] values) {
+        int best = 0;
+        for (int i = 1; i < values.length; i++) {
+            if (values[i] > values[best]) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    private static double softmax(float[] logits, int index) {
+        double max = logits[argmax(logits)];
+        double sum = 0;
+        for (float logit : logits) {
+            sum += Math.exp(logit - max);
+        }
+        return Math.exp(logits[index] - max) / sum;
+    }
+
+    private static double round(double value, int digits) {
+        double scale = Math.pow(10, digits);
+        return Math.round(value * scale) / scale;
+    }
+
+    // 학습 시 정규화한 ssim/lpips 를 되돌리는 값 (ONNX 메타데이터 stats, 없으면 그대로 사용)
+    private record Stats(double ssimMean, double ssimStd, double lpipsMean, double lpipsStd) {
+
+        private static final Stats IDENTITY = new Stats(0, 1, 0, 1);
+
+        static Stats parse(ObjectMapper objectMapper, String json) throws IOException {
+            if (json == null) {
+                return IDENTITY;
+            }
+            JsonNode node = objectMapper.readTree(json);
+            return new Stats(node.path("ssim_mean").asDouble(), node.path("ssim_std").asDouble(1),
+                    node.path("lpips_mean").asDouble(), node.path("lpips_std").asDouble(1));
+        }
+
+        double ssim(float value) {
+            if (this == IDENTITY) {
+                return value;
+            }
+            return Math.max(0.0, Math.min(1.0, value * ssimStd + ssimMean));
+        }
+
+        double lpips(float value) {
+            if (this == IDENTITY) {
+                return value;
+            }
+            return Math.max(0.0, value * lpipsStd + lpipsMean);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.aidetector.domain.detection.inference;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * RM(잔차 평균)/PVR(강한 피크 비율) 계산. ai-server/inference.py 의 _calc_rm_pvr 와 같은 결과를 낸다.
+ * - 흑백 변환은 OpenCV RGB2GRAY 의 고정 소수점 계산(반올림된 uint8)을 그대로 따름
+ * - 3x5 잔차 필터는 cv2.filter2D 와 같이 상관(correlation) + BORDER_REFLECT_101
+ * 원본 해상도 전체를 쓰므로 잔차 맵은 저장하지 않고 두 번 계산한다 (평균/표준편차, 임계값 초과 개수).
+ */
+final class ResidualStatistics {
+
+    private static final float[][] KERNEL = {
+            {0, -0.25f, 0.5f, -0.25f, 0},
+            {0, 0.5f, -1f, 0.5f, 0},
+            {0, -0.25f, 0.5f, -0.25f, 0}
+    };
+    private static final double K = 3.0;
+
+    record Result(double rm, double pvr) {
+    }
+
+    private ResidualStatistics() {
+    }
+
+    static Result compute(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        byte[] gray = toGray(image, width, height);
+
+        double sum = 0;
+        double sumSquares = 0;
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                double residual = Math.abs(residual(gray, width, height, x, y));
+                sum += residual;
+                sumSquares += residual * residual;
+            }
+        }
+
+        long size = Math.max(1L, (long) width * height);
+        double mean = sum / size;
+        double std = Math.sqrt(Math.max(0, sumSquares / size - mean * mean));
+        double threshold = K * std;
+
+        long peaks = 0;
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                if (Math.abs(residual(gray, width, height, x, y)) > threshold) {
+                    peaks++;
+                }
+            }
+        }
+
+        return new Result(mean, (double) peaks / size * 100.0);
+    }
+
+    private static float residual(byte[] gray, int width, int height, int x, int y) {
+        float value = 0;
+        for (int ky = 0; ky < 3; ky++) {
+            int row = reflect(y + ky - 1, height) * width;
+            for (int kx = 0; kx < 5; kx++) {
+                float weight = KERNEL[ky][kx];
+                if (weight != 0) {
+                    value += weight * ((gray[row + reflect(x + kx - 2, width)] & 0xFF) / 255f);
+                }
+            }
+        }
+        return value;
+    }
+
+    // BORDER_REFLECT_101: gfedcb|abcdefgh|gfedcba
+    private static int reflect(int index, int length) {
+        if (length == 1) {
+            return 0;
+        }
+        while (index < 0 || index >= length) {
+            index = index < 0 ? -index : 2 * length - index - 2;
+        }
+        return index;
+    }
+
+    private static byte[] toGray(BufferedImage image, int width, int height) {
+        byte[] gray = new byte[width * height];
+        int[] row = new int[width];
+        for (int y = 0; y < height; y++) {
+            image.getRGB(0, y, width, 1, row, 0, width);
+            for (int x = 0; x < width; x++) {
+                int rgb = row[x];
+                int r = (rgb >> 16) & 0xFF;
+                int g = (rgb >> 8) & 0xFF;
+                int b = rgb & 0xFF;
+                // OpenCV: (R*4899 + G*9617 + B*1868 + 2^13) >> 14
+                gray[y * width + x] = (byte) ((r * 4899 + g * 9617 + b * 1868 + 8192) >> 14);
+            }
+        }
+        return gray;
+    }
+}
@@ -0,0 +1,5 @@
+package com.aidetector.domain.user;
+
+public enum Role {
+    USER, ADMIN
+}
@@ -16,7 +16,15 @@ import java.time.LocalDateTime;
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "user_id")
+    @TableGenerator(
+            name = "user_id",
+            table = "id_generators",
+            pkColumnName = "sequence_name",
+            valueColumnName = "next_val",
+            pkColumnValue = "users",
+            allocationSize = 20
+    )
     private Long id;
 
     @Column(unique = true, nullable = false)
@@ -27,6 +35,10 @@ public class User {
 
     private String name;
 
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Role role;
+
     @CreationTimestamp
     private LocalDateTime createdAt;
 
@@ -35,6 +47,7 @@ public class User {
         this.email = email;
         this.password = password;
         this.name = name;
+        this.role = Role.USER;
     }
 
     public void updateProfile(String name) {
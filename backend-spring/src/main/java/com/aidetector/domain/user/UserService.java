@@ -1,7 +1,10 @@
 package com.aidetector.domain.user;
 
+import com.aidetector.domain.detection.DetectionArchive;
+import com.aidetector.domain.detection.DetectionArchiveRepository;
 import com.aidetector.domain.detection.DetectionRepository;
 import com.aidetector.domain.detection.DetectionRequest;
+import com.aidetector.domain.detection.DetectionResultCache;
 import com.aidetector.domain.user.dto.LoginRequestDto;
 import com.aidetector.domain.user.dto.SignupRequestDto;
 import com.aidetector.domain.user.dto.TokenResponseDto;
@@ -10,10 +13,12 @@ import com.aidetector.domain.user.dto.UpdateUserRequestDto;
 import com.aidetector.domain.user.dto.UpdateUserResponseDto;
 import com.aidetector.domain.user.dto.UserMeResponseDto;
 import com.aidetector.global.security.JwtTokenProvider;
+import com.aidetector.global.security.LoginAttemptLimiter;
+import com.aidetector.global.security.PasswordHashingService;
 import com.aidetector.global.util.S3Service;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -25,9 +30,12 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final DetectionRepository detectionRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final DetectionArchiveRepository detectionArchiveRepository;
+    private final PasswordHashingService passwordHashingService;
+    private final LoginAttemptLimiter loginAttemptLimiter;
     private final JwtTokenProvider jwtTokenProvider;
     private final S3Service s3Service;
+    private final DetectionResultCache detectionResultCache;
 
     // 회원가입
     public Long signup(SignupRequestDto requestDto) {
@@ -37,7 +45,7 @@ public class UserService {
 
         User user = User.builder()
                 .email(requestDto.getEmail())
-                .password(passwordEncoder.encode(requestDto.getPassword()))
+                .password(passwordHashingService.encode(requestDto.getPassword()))
                 .name(requestDto.getName())
                 .build();
 
@@ -45,16 +53,31 @@ public class UserService {
     }
 
     // 로그인
-    @Transactional(readOnly = true)
+    // 해시 비교는 전용 executor 를 기다리므로 트랜잭션 밖에서 실행 (조회/재해시 저장만 각자 짧은 트랜잭션)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public TokenResponseDto login(LoginRequestDto requestDto) {
-        User user = userRepository.findByEmail(requestDto.getEmail())
-                .orElseThrow(() -> new IllegalArgumentException("가입되지 않은 이메일입니다."));
+        // 잠긴 계정은 DB 조회/해시 전에 거절
+        loginAttemptLimiter.checkAllowed(requestDto.getEmail());
+
+        User user = userRepository.findByEmail(requestDto.getEmail()).orElse(null);
+        if (user == null) {
+            loginAttemptLimiter.recordFailure(requestDto.getEmail());
+            throw new IllegalArgumentException("가입되지 않은 이메일입니다.");
+        }
 
-        if (!passwordEncoder.matches(requestDto.getPassword(), user.getPassword())) {
+        if (!passwordHashingService.matches(requestDto.getPassword(), user.getPassword())) {
+            loginAttemptLimiter.recordFailure(requestDto.getEmail());
             throw new IllegalArgumentException("비밀번호가 일치하지 않습니다.");
         }
+        loginAttemptLimiter.recordSuccess(requestDto.getEmail());
 
-        String token = jwtTokenProvider.createToken(user.getEmail());
+        // 보정된 BCrypt cost 가 올라갔으면 평문을 알고 있는 지금 다시 해시
+        if (passwordHashingService.needsRehash(user.getPassword())) {
+            userRepository.updatePasswordIfUnchanged(user.getId(), user.getPassword(),
+                    passwordHashingService.encode(requestDto.getPassword()));
+        }
+
+        String token = jwtTokenProvider.createToken(user.getEmail(), user.getRole().name(), user.getId());
 
         return new TokenResponseDto(token);
     }
@@ -80,19 +103,20 @@ public class UserService {
     public void updateMyPassword(String email, UpdatePasswordRequestDto requestDto) {
         User user = getUserByEmail(email);
 
-        if (!passwordEncoder.matches(requestDto.getCurrentPassword(), user.getPassword())) {
-            throw new IllegalArgumentException("현재 비밀번호가 일치하지 않습니다.");
-        }
-
         if (requestDto.getNewPassword() == null || requestDto.getNewPassword().isBlank()) {
             throw new IllegalArgumentException("새 비밀번호는 비어 있을 수 없습니다.");
         }
 
-        if (passwordEncoder.matches(requestDto.getNewPassword(), user.getPassword())) {
+        if (!passwordHashingService.matches(requestDto.getCurrentPassword(), user.getPassword())) {
+            throw new IllegalArgumentException("현재 비밀번호가 일치하지 않습니다.");
+        }
+
+        // 현재 비밀번호가 확인됐으므로 평문 비교로 충분 (추가 BCrypt 연산 없음)
+        if (requestDto.getNewPassword().equals(requestDto.getCurrentPassword())) {
             throw new IllegalArgumentException("새 비밀번호는 현재 비밀번호와 달라야 합니다.");
         }
 
-        user.updatePassword(passwordEncoder.encode(requestDto.getNewPassword()));
+        user.updatePassword(passwordHashingService.encode(requestDto.getNewPassword()));
     }
 
     public void withdraw(String email) {
@@ -102,9 +126,17 @@ public class UserService {
         for (DetectionRequest history : userHistory) {
             s3Service.delete(history.getStoredFilePath());
             s3Service.delete(history.getHeatmapUrl());
+            detectionResultCache.evict(history.getId());
         }
 
         detectionRepository.deleteAll(userHistory);
+
+        for (DetectionArchive archive : detectionArchiveRepository.findAllByUserId(user.getId())) {
+            s3Service.delete(archive.getStoredFilePath());
+            s3Service.delete(archive.getHeatmapUrl());
+            detectionResultCache.evict(archive.getId());
+        }
+        detectionArchiveRepository.deleteAllArchiveByUserId(user.getId());
         userRepository.delete(user);
     }
 
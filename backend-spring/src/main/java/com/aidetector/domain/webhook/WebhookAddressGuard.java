@@ -0,0 +1,136 @@
+package com.aidetector.domain.webhook;
+
+import io.netty.resolver.AddressResolver;
+import io.netty.resolver.AddressResolverGroup;
+import io.netty.resolver.DefaultAddressResolverGroup;
+import io.netty.resolver.InetNameResolver;
+import io.netty.resolver.InetSocketAddressResolver;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Promise;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * webhook 으로 내부망에 요청을 보내지 못하게 (SSRF) 공개 주소로 해석되는 호스트만 허용.
+ * - 등록 시 호스트를 해석해 확인
+ * - 전송 시에는 연결에 쓰는 주소 해석 자체를 이 검사로 대체 (등록 뒤 DNS 를 바꾸는 rebinding 도 차단)
+ */
+@Component
+public class WebhookAddressGuard {
+
+    private final boolean allowPrivateAddresses;
+
+    // true 면 로컬 개발용 수신 서버(localhost, 사설망)도 허용
+    public WebhookAddressGuard(@Value("${webhook.allow-private-addresses:false}") boolean allowPrivateAddresses) {
+        this.allowPrivateAddresses = allowPrivateAddresses;
+    }
+
+    public void checkHost(String host) {
+        try {
+            resolve(host);
+        } catch (UnknownHostException e) {
+            throw new IllegalArgumentException("webhook 호스트를 찾을 수 없습니다: " + host);
+        }
+    }
+
+    // WebClient(Reactor Netty) 의 주소 해석기: 연결 직전에 해석한 주소를 검사하고 그 주소로 연결
+    AddressResolverGroup<InetSocketAddress> resolverGroup() {
+        if (allowPrivateAddresses) {
+            return DefaultAddressResolverGroup.INSTANCE;
+        }
+
+        return new AddressResolverGroup<>() {
+            @Override
+            protected AddressResolver<InetSocketAddress> newResolver(EventExecutor executor) {
+                return new InetSocketAddressResolver(executor, new InetNameResolver(executor) {
+                    @Override
+                    protected void doResolve(String inetHost, Promise<InetAddress> promise) {
+                        try {
+                            promise.setSuccess(resolve(inetHost).get(0));
+                        } catch (UnknownHostException | IllegalArgumentException e) {
+                            promise.setFailure(e);
+                        }
+                    }
+
+                    @Override
+                    protected void doResolveAll(String inetHost, Promise<List<InetAddress>> promise) {
+                        try {
+                            promise.setSuccess(resolve(inetHost));
+                        } catch (UnknownHostException | IllegalArgumentException e) {
+                            promise.setFailure(e);
+                        }
+                    }
+                });
+            }
+        };
+    }
+
+    // 해석된 주소 중 하나라도 공개 주소가 아니면 거부 (여러 A 레코드 중 내부 주소를 섞는 경우)
+    private List<InetAddress> resolve(String host) throws UnknownHostException {
+        List<InetAddress> addresses = List.of(InetAddress.getAllByName(host));
+        if (!allowPrivateAddresses) {
+            for (InetAddress address : addresses) {
+                if (!isPublic(address)) {
+                    throw new IllegalArgumentException("공개 주소가 아닌 webhook 호스트입니다: " + host);
+                }
+            }
+        }
+        return addresses;
+    }
+
+    static boolean isPublic(InetAddress address) {
+        if (address.isAnyLocalAddress() || address.isLoopbackAddress() || address.isLinkLocalAddress()
+                || address.isSiteLocalAddress() || address.isMulticastAddress()) {
+            return false; // 0.0.0.0, 127/8, 169.254/16(클라우드 메타데이터), 10/8, 172.16/12, 192.168/16, fe80::/10 ...
+        }
+
+        byte[] bytes = address.getAddress();
+        if (bytes.length == 4) {
+            return isPublicIpv4(bytes[0] & 0xff, bytes[1] & 0xff, bytes[2] & 0xff);
+        }
+
+        // IPv4-mapped(::ffff:0:0/96), NAT64(64:ff9b::/96) 는 끝 4바이트의 IPv4 주소로 판단
+        if (isIpv4Embedded(bytes)) {
+            try {
+                return isPublic(InetAddress.getByAddress(Arrays.copyOfRange(bytes, 12, 16)));
+            } catch (UnknownHostException e) {
+                return false; // 4바이트이므로 발생하지 않음
+            }
+        }
+
+        return (bytes[0] & 0xfe) != 0xfc; // 고유 로컬 주소 fc00::/7
+    }
+
+    private static boolean isPublicIpv4(int first, int second, int third) {
+        if (first == 0 || first >= 240) {
+            return false; // 0/8, 예약 대역과 브로드캐스트
+        }
+        if (first == 100 && (second & 0xc0) == 64) {
+            return false; // CGNAT 100.64/10
+        }
+        if (first == 192 && second == 0 && third == 0) {
+            return false; // 192.0.0/24
+        }
+        return !(first == 198 && (second & 0xfe) == 18); // 벤치마크 198.18/15
+    }
+
+    private static boolean isIpv4Embedded(byte[] bytes) {
+        boolean mapped = true;
+        for (int i = 0; i < 10; i++) {
+            mapped &= bytes[i] == 0;
+        }
+        mapped &= bytes[10] == (byte) 0xff && bytes[11] == (byte) 0xff;
+
+        boolean nat64 = bytes[0] == 0x00 && bytes[1] == 0x64 && bytes[2] == (byte) 0xff && bytes[3] == (byte) 0x9b;
+        for (int i = 4; i < 12 && nat64; i++) {
+            nat64 = bytes[i] == 0;
+        }
+        return mapped || nat64;
+    }
+}
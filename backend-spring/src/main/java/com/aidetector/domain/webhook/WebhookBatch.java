@@ -0,0 +1,11 @@
+package com.aidetector.domain.webhook;
+
+import java.util.List;
+
+// 한 번의 POST 로 보낼 선점된 전송 건들 (payloads 는 이미 직렬화된 이벤트 JSON)
+record WebhookBatch(String batchId, Long endpointId, String url, String secret, List<String> payloads) {
+
+    String body() {
+        return "{\"events\":[" + String.join(",", payloads) + "]}";
+    }
+}
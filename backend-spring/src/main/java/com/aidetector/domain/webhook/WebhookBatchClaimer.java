@@ -0,0 +1,104 @@
+package com.aidetector.domain.webhook;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 배치 선점과 전송 결과 기록 (각각 짧은 트랜잭션, HTTP 호출은 트랜잭션 밖에서).
+ * 선점은 엔드포인트 행을 잠근 채 진행 중인 배치 수를 세므로 노드 수와 관계없이 maxConcurrency 를 넘지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+@Transactional
+public class WebhookBatchClaimer {
+
+    private final WebhookEndpointRepository webhookEndpointRepository;
+    private final WebhookDeliveryRepository webhookDeliveryRepository;
+    private final WebhookSecretCipher webhookSecretCipher;
+
+    @Value("${webhook.dispatch.batch-size:50}")
+    private int batchSize;
+
+    // HTTP timeout 보다 길어야 전송 중인 배치를 다른 노드가 다시 보내지 않음
+    @Value("${webhook.dispatch.lease:1m}")
+    private Duration lease;
+
+    @Value("${webhook.retry.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${webhook.retry.initial-backoff:10s}")
+    private Duration initialBackoff;
+
+    @Value("${webhook.retry.max-backoff:1h}")
+    private Duration maxBackoff;
+
+    public Optional<WebhookBatch> claim(Long endpointId) {
+        WebhookEndpoint endpoint = webhookEndpointRepository.findByIdForUpdate(endpointId).orElse(null);
+        if (endpoint == null) {
+            return Optional.empty();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (webhookDeliveryRepository.countInFlightBatches(endpointId, now) >= endpoint.getMaxConcurrency()) {
+            return Optional.empty();
+        }
+
+        List<WebhookDelivery> due = webhookDeliveryRepository.findDue(endpointId, now, Limit.of(batchSize));
+        if (due.isEmpty()) {
+            return Optional.empty();
+        }
+
+        String batchId = UUID.randomUUID().toString();
+        LocalDateTime lockedUntil = now.plus(lease);
+        for (WebhookDelivery delivery : due) {
+            delivery.claim(batchId, lockedUntil);
+        }
+
+        return Optional.of(new WebhookBatch(batchId, endpointId, endpoint.getUrl(),
+                webhookSecretCipher.decrypt(endpoint.getSecret()),
+                due.stream().map(WebhookDelivery::getPayload).toList()));
+    }
+
+    public int markDelivered(String batchId) {
+        return webhookDeliveryRepository.markDelivered(batchId, LocalDateTime.now());
+    }
+
+    // 배치 안의 건마다 시도 횟수가 다를 수 있으므로 건별로 다음 시도 시각을 계산
+    public int markFailed(String batchId, String error) {
+        String truncated = error != null && error.length() > 500 ? error.substring(0, 500) : error;
+        LocalDateTime now = LocalDateTime.now();
+
+        List<WebhookDelivery> deliveries =
+                webhookDeliveryRepository.findAllByBatchIdAndStatus(batchId, WebhookDeliveryStatus.SENDING);
+        int dead = 0;
+        for (WebhookDelivery delivery : deliveries) {
+            delivery.fail(truncated, now.plus(backoff(delivery.getAttempts() + 1)), maxAttempts);
+            if (delivery.getStatus() == WebhookDeliveryStatus.DEAD) {
+                dead++;
+            }
+        }
+        return dead;
+    }
+
+    public int releaseExpired() {
+        return webhookDeliveryRepository.releaseExpired(LocalDateTime.now());
+    }
+
+    // initial x 2^(attempt-1), 최대 max-backoff, +-20% jitter 로 동시에 실패한 배치의 재시도를 분산
+    Duration backoff(int attempt) {
+        long millis = initialBackoff.toMillis() << Math.min(attempt - 1, 20);
+        millis = Math.min(millis, maxBackoff.toMillis());
+        double jitter = ThreadLocalRandom.current().nextDouble(0.8, 1.2);
+        return Duration.ofMillis((long) (millis * jitter));
+    }
+}
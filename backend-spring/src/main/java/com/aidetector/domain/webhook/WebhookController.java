@@ -0,0 +1,68 @@
+package com.aidetector.domain.webhook;
+
+import com.aidetector.domain.webhook.dto.WebhookDeadLetterDto;
+import com.aidetector.domain.webhook.dto.WebhookEndpointRequestDto;
+import com.aidetector.domain.webhook.dto.WebhookEndpointResponseDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * 분석 결과 webhook (결과 조회 polling 대신 push).
+ * 요청 본문은 {"events": [...]} 배치이며, 헤더로 X-Webhook-Id(배치 ID), X-Webhook-Timestamp,
+ * X-Webhook-Signature(sha256=HMAC-SHA256(secret, "{timestamp}.{body}")) 를 보낸다.
+ */
+@RestController
+@RequestMapping("/api/v1/webhooks")
+@RequiredArgsConstructor
+public class WebhookController {
+
+    private final WebhookService webhookService;
+
+    // secret 은 이 응답에서만 확인할 수 있음
+    @PostMapping
+    public ResponseEntity<WebhookEndpointResponseDto> registerEndpoint(
+            @AuthenticationPrincipal String email,
+            @RequestBody WebhookEndpointRequestDto requestDto
+    ) {
+        return ResponseEntity.ok(webhookService.register(email, requestDto));
+    }
+
+    @GetMapping
+    public ResponseEntity<List<WebhookEndpointResponseDto>> getEndpoints(
+            @AuthenticationPrincipal String email
+    ) {
+        return ResponseEntity.ok(webhookService.getEndpoints(email));
+    }
+
+    @DeleteMapping("/{endpointId}")
+    public ResponseEntity<Void> deleteEndpoint(
+            @AuthenticationPrincipal String email,
+            @PathVariable Long endpointId
+    ) {
+        webhookService.delete(email, endpointId);
+        return ResponseEntity.noContent().build();
+    }
+
+    // 재시도 한도를 넘긴 전송 건 (id 순 keyset 페이지)
+    @GetMapping("/{endpointId}/dead-letters")
+    public ResponseEntity<List<WebhookDeadLetterDto>> getDeadLetters(
+            @AuthenticationPrincipal String email,
+            @PathVariable Long endpointId,
+            @RequestParam(defaultValue = "0") Long afterId,
+            @RequestParam(defaultValue = "100") int size
+    ) {
+        return ResponseEntity.ok(webhookService.getDeadLetters(email, endpointId, afterId, size));
+    }
+
+    @PostMapping("/{endpointId}/dead-letters/retry")
+    public ResponseEntity<Integer> retryDeadLetters(
+            @AuthenticationPrincipal String email,
+            @PathVariable Long endpointId
+    ) {
+        return ResponseEntity.ok(webhookService.retryDeadLetters(email, endpointId));
+    }
+}
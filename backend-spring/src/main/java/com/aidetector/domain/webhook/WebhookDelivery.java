@@ -0,0 +1,79 @@
+package com.aidetector.domain.webhook;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * webhook 전송 대기열의 한 건 (엔드포인트 x 분석 결과).
+ * 디스패처가 같은 엔드포인트의 PENDING 건을 batchId 로 묶어 SENDING 으로 선점하고,
+ * 전송 결과에 따라 DELIVERED 또는 다음 시도 시각을 정해 PENDING 으로 되돌린다 (한도를 넘으면 DEAD).
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "webhook_deliveries")
+public class WebhookDelivery {
+
+    // 엔드포인트 수만큼만 생성되므로 배치 insert 가 필요 없음
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long endpointId;
+    private Long detectionRequestId;
+
+    @Enumerated(EnumType.STRING)
+    private WebhookEventType eventType;
+
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    private WebhookDeliveryStatus status;
+
+    private int attempts;
+    private LocalDateTime nextAttemptAt;
+
+    // SENDING 동안의 선점 정보 (노드가 죽으면 lockedUntil 이 지나 PENDING 으로 복구)
+    private String batchId;
+    private LocalDateTime lockedUntil;
+
+    private String lastError;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    private LocalDateTime deliveredAt;
+
+    public WebhookDelivery(Long endpointId, Long detectionRequestId, WebhookEventType eventType, String payload) {
+        this.endpointId = endpointId;
+        this.detectionRequestId = detectionRequestId;
+        this.eventType = eventType;
+        this.payload = payload;
+        this.status = WebhookDeliveryStatus.PENDING;
+        this.nextAttemptAt = LocalDateTime.now();
+    }
+
+    public void claim(String batchId, LocalDateTime lockedUntil) {
+        this.status = WebhookDeliveryStatus.SENDING;
+        this.batchId = batchId;
+        this.lockedUntil = lockedUntil;
+    }
+
+    public void fail(String error, LocalDateTime nextAttemptAt, int maxAttempts) {
+        this.attempts++;
+        this.lastError = error;
+        this.batchId = null;
+        this.lockedUntil = null;
+        if (attempts >= maxAttempts) {
+            this.status = WebhookDeliveryStatus.DEAD;
+        } else {
+            this.status = WebhookDeliveryStatus.PENDING;
+            this.nextAttemptAt = nextAttemptAt;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.aidetector.domain.webhook;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface WebhookDeliveryRepository extends JpaRepository<WebhookDelivery, Long> {
+
+    // 보낼 건이 있는 엔드포인트 (idx_webhook_delivery_due 범위 스캔)
+    @Query("select distinct d.endpointId from WebhookDelivery d "
+            + "where d.status = com.aidetector.domain.webhook.WebhookDeliveryStatus.PENDING and d.nextAttemptAt <= :now")
+    List<Long> findDueEndpointIds(LocalDateTime now, Limit limit);
+
+    @Query("select d from WebhookDelivery d where d.endpointId = :endpointId "
+            + "and d.status = com.aidetector.domain.webhook.WebhookDeliveryStatus.PENDING and d.nextAttemptAt <= :now "
+            + "order by d.id")
+    List<WebhookDelivery> findDue(Long endpointId, LocalDateTime now, Limit limit);
+
+    // 선점이 살아 있는 배치 수 = 이 엔드포인트로 진행 중인 요청 수
+    @Query("select count(distinct d.batchId) from WebhookDelivery d where d.endpointId = :endpointId "
+            + "and d.status = com.aidetector.domain.webhook.WebhookDeliveryStatus.SENDING and d.lockedUntil > :now")
+    long countInFlightBatches(Long endpointId, LocalDateTime now);
+
+    List<WebhookDelivery> findAllByBatchIdAndStatus(String batchId, WebhookDeliveryStatus status);
+
+    @Transactional
+    @Modifying
+    @Query("update WebhookDelivery d set d.status = com.aidetector.domain.webhook.WebhookDeliveryStatus.DELIVERED, "
+            + "d.deliveredAt = :now, d.attempts = d.attempts + 1, d.batchId = null, d.lockedUntil = null "
+            + "where d.batchId = :batchId and d.status = com.aidetector.domain.webhook.WebhookDeliveryStatus.SENDING")
+    int markDelivered(String batchId, LocalDateTime now);
+
+    // 전송 도중 노드가 죽어 선점이 만료된 건은 다시 대기열로 (시도 횟수는 그대로)
+    @Transactional
+    @Modifying
+    @Query("update WebhookDelivery d set d.status = com.aidetector.domain.webhook.WebhookDeliveryStatus.PENDING, "
+            + "d.batchId = null, d.lockedUntil = null "
+            + "where d.status = com.aidetector.domain.webhook.WebhookDeliveryStatus.SENDING and d.lockedUntil < :now")
+    int releaseExpired(LocalDateTime now);
+
+    @Query("select d from WebhookDelivery d where d.endpointId = :endpointId "
+            + "and d.status = com.aidetector.domain.webhook.WebhookDeliveryStatus.DEAD and d.id > :afterId order by d.id")
+    List<WebhookDelivery> findDeadLetters(Long endpointId, Long afterId, Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query("update WebhookDelivery d set d.status = com.aidetector.domain.webhook.WebhookDeliveryStatus.PENDING, "
+            + "d.attempts = 0, d.nextAttemptAt = :now "
+            + "where d.endpointId = :endpointId and d.status = com.aidetector.domain.webhook.WebhookDeliveryStatus.DEAD")
+    int requeueDeadLetters(Long endpointId, LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("delete from WebhookDelivery d "
+            + "where d.status = com.aidetector.domain.webhook.WebhookDeliveryStatus.DELIVERED and d.deliveredAt < :before")
+    int deleteDeliveredBefore(LocalDateTime before);
+}
@@ -0,0 +1,5 @@
+package com.aidetector.domain.webhook;
+
+public enum WebhookDeliveryStatus {
+    PENDING, SENDING, DELIVERED, DEAD
+}
@@ -0,0 +1,108 @@
+package com.aidetector.domain.webhook;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * webhook 디스패처.
+ * 주기적으로 보낼 건이 있는 엔드포인트를 찾아, 엔드포인트마다 동시 한도만큼 배치를 선점하고
+ * 배치마다 가상 스레드에서 POST 한다. 실패한 건은 지수 백오프로 다시 대기열에 들어가고,
+ * max-attempts 를 넘으면 DEAD 로 남아 dead-letter 조회/재전송 대상이 된다.
+ * 전송은 at-least-once 이므로 수신 측은 이벤트의 eventId 로 중복을 걸러야 한다.
+ */
+@Component
+@Slf4j
+public class WebhookDispatcher {
+
+    private final WebhookBatchClaimer webhookBatchClaimer;
+    private final WebhookDeliveryRepository webhookDeliveryRepository;
+    private final WebhookSender webhookSender;
+
+    private final int maxEndpointsPerPoll;
+    private final Duration deliveredRetention;
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Counter deliveredEvents;
+    private final Counter retriedEvents;
+    private final Counter deadEvents;
+    private final Timer batchTimer;
+
+    public WebhookDispatcher(WebhookBatchClaimer webhookBatchClaimer,
+                             WebhookDeliveryRepository webhookDeliveryRepository,
+                             WebhookSender webhookSender,
+                             MeterRegistry meterRegistry,
+                             @Value("${webhook.dispatch.max-endpoints-per-poll:100}") int maxEndpointsPerPoll,
+                             @Value("${webhook.delivered-retention:7d}") Duration deliveredRetention) {
+        this.webhookBatchClaimer = webhookBatchClaimer;
+        this.webhookDeliveryRepository = webhookDeliveryRepository;
+        this.webhookSender = webhookSender;
+        this.maxEndpointsPerPoll = maxEndpointsPerPoll;
+        this.deliveredRetention = deliveredRetention;
+
+        this.deliveredEvents = Counter.builder("webhook.events").tag("outcome", "delivered").register(meterRegistry);
+        this.retriedEvents = Counter.builder("webhook.events").tag("outcome", "retried").register(meterRegistry);
+        this.deadEvents = Counter.builder("webhook.events").tag("outcome", "dead").register(meterRegistry);
+        this.batchTimer = Timer.builder("webhook.batch").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${webhook.dispatch.poll-interval:PT1S}")
+    public void dispatch() {
+        int released = webhookBatchClaimer.releaseExpired();
+        if (released > 0) {
+            log.warn("[webhook] 선점이 만료된 전송 {}건을 대기열로 되돌림", released);
+        }
+
+        for (Long endpointId : webhookDeliveryRepository.findDueEndpointIds(LocalDateTime.now(), Limit.of(maxEndpointsPerPoll))) {
+            // 동시 한도가 찰 때까지 배치를 꺼냄 (나머지는 다음 주기에)
+            Optional<WebhookBatch> batch;
+            while ((batch = webhookBatchClaimer.claim(endpointId)).isPresent()) {
+                WebhookBatch claimed = batch.get();
+                senders.execute(() -> send(claimed));
+            }
+        }
+    }
+
+    private void send(WebhookBatch batch) {
+        int size = batch.payloads().size();
+        try {
+            batchTimer.record(() -> webhookSender.send(batch));
+            webhookBatchClaimer.markDelivered(batch.batchId());
+            deliveredEvents.increment(size);
+        } catch (RuntimeException e) {
+            int dead = webhookBatchClaimer.markFailed(batch.batchId(), e.getMessage());
+            retriedEvents.increment(size - dead);
+            deadEvents.increment(dead);
+            log.warn("[webhook 전송 실패] EndpointId: {}, Batch: {}, {}건 (DEAD {}건), 원인: {}",
+                    batch.endpointId(), batch.batchId(), size, dead, e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${webhook.purge-interval:PT1H}")
+    public void purgeDelivered() {
+        int deleted = webhookDeliveryRepository.deleteDeliveredBefore(LocalDateTime.now().minus(deliveredRetention));
+        if (deleted > 0) {
+            log.info("[webhook 정리] 전송 완료 {}건 삭제", deleted);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        // 전송 중인 배치가 끝나지 않으면 선점 만료 후 다른 노드(또는 재기동 후)가 다시 보냄
+        senders.shutdown();
+        senders.awaitTermination(10, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,36 @@
+package com.aidetector.domain.webhook;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "webhook_endpoints")
+public class WebhookEndpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long userId;               // 회원 탈퇴 시 FK ON DELETE CASCADE 로 함께 삭제
+
+    private String url;
+    private String secret;             // HMAC-SHA256 서명 키를 WebhookSecretCipher 로 암호화한 값 (원문은 등록 응답에서만 노출)
+    private int maxConcurrency;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    public WebhookEndpoint(Long userId, String url, String secret, int maxConcurrency) {
+        this.userId = userId;
+        this.url = url;
+        this.secret = secret;
+        this.maxConcurrency = maxConcurrency;
+    }
+}
@@ -0,0 +1,21 @@
+package com.aidetector.domain.webhook;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface WebhookEndpointRepository extends JpaRepository<WebhookEndpoint, Long> {
+
+    List<WebhookEndpoint> findAllByUserIdOrderByIdAsc(Long userId);
+
+    long countByUserId(Long userId);
+
+    // 배치 선점을 엔드포인트 단위로 직렬화 (여러 노드가 동시에 선점해도 동시 전송 한도를 지킴)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from WebhookEndpoint e where e.id = :id")
+    Optional<WebhookEndpoint> findByIdForUpdate(Long id);
+}
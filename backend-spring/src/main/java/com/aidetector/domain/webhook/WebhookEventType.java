@@ -0,0 +1,13 @@
+package com.aidetector.domain.webhook;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum WebhookEventType {
+    DETECTION_COMPLETED("detection.completed"),
+    DETECTION_FAILED("detection.failed");
+
+    private final String value;   // 페이로드의 type 값
+}
@@ -0,0 +1,58 @@
+package com.aidetector.domain.webhook;
+
+import com.aidetector.domain.detection.DetectionRequest;
+import com.aidetector.domain.webhook.dto.WebhookEventDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+// 분석 결과를 등록된 엔드포인트마다 전송 대기열에 넣음 (전송은 WebhookDispatcher)
+@Component
+@RequiredArgsConstructor
+public class WebhookPublisher {
+
+    private final WebhookEndpointRepository webhookEndpointRepository;
+    private final WebhookDeliveryRepository webhookDeliveryRepository;
+    private final ObjectMapper objectMapper;
+
+    // 분석 결과와 같은 트랜잭션에 저장 (outbox): 커밋되면 반드시 전송되고, 롤백되면 함께 취소됨
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishCompleted(DetectionRequest request) {
+        enqueue(WebhookEventType.DETECTION_COMPLETED, request);
+    }
+
+    // 분석 실패 시에도 업로드 트랜잭션은 FAILED 행을 커밋하므로 같은 트랜잭션에 저장
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishFailed(DetectionRequest request) {
+        enqueue(WebhookEventType.DETECTION_FAILED, request);
+    }
+
+    private void enqueue(WebhookEventType type, DetectionRequest request) {
+        if (request.getUser() == null) {
+            return; // 비회원 요청은 엔드포인트가 없음
+        }
+
+        List<WebhookEndpoint> endpoints = webhookEndpointRepository.findAllByUserIdOrderByIdAsc(request.getUser().getId());
+        if (endpoints.isEmpty()) {
+            return;
+        }
+
+        String payload = serialize(WebhookEventDto.of(type, request));
+        for (WebhookEndpoint endpoint : endpoints) {
+            webhookDeliveryRepository.save(new WebhookDelivery(endpoint.getId(), request.getId(), type, payload));
+        }
+    }
+
+    private String serialize(WebhookEventDto event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("webhook 이벤트를 직렬화할 수 없습니다.", e);
+        }
+    }
+}
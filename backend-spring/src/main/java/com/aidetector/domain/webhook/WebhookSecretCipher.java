@@ -0,0 +1,81 @@
+package com.aidetector.domain.webhook;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * webhook 서명 secret 의 저장 시 암호화 (AES-256-GCM).
+ * 서명에는 원문이 필요해 단방향 해시로는 저장할 수 없으므로, DB 만 유출돼도 서명을 위조할 수 없도록
+ * 애플리케이션 키(webhook.secret-key, DB 밖의 환경 변수로 주입)로 암호화해 둔다.
+ * 등록 시 암호화하고, 전송 배치를 선점할 때만 복호화한다.
+ * 저장 형식: "v1:" + Base64(IV 12바이트 + 암호문 + 인증 태그), 접두사가 없는 값은 암호화 이전의 원문.
+ */
+@Component
+public class WebhookSecretCipher {
+
+    static final String PREFIX = "v1:";
+
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_BITS = 128;
+    private static final int MIN_KEY_LENGTH = 32;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final SecretKeySpec key;
+
+    // 임의 길이의 키 문자열을 SHA-256 으로 256비트 AES 키로 변환
+    public WebhookSecretCipher(@Value("${webhook.secret-key}") String secretKey) {
+        if (secretKey == null || secretKey.length() < MIN_KEY_LENGTH) {
+            throw new IllegalStateException("webhook.secret-key 는 " + MIN_KEY_LENGTH + "자 이상이어야 합니다.");
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(secretKey.getBytes(StandardCharsets.UTF_8));
+            this.key = new SecretKeySpec(digest, "AES");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public String encrypt(String plaintext) {
+        byte[] iv = new byte[IV_LENGTH];
+        RANDOM.nextBytes(iv);
+        try {
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+            byte[] encrypted = cipher.doFinal(plaintext.getBytes(StandardCharsets.UTF_8));
+            byte[] stored = ByteBuffer.allocate(IV_LENGTH + encrypted.length).put(iv).put(encrypted).array();
+            return PREFIX + Base64.getEncoder().encodeToString(stored);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("webhook secret 을 암호화할 수 없습니다.", e);
+        }
+    }
+
+    public String decrypt(String stored) {
+        if (!isEncrypted(stored)) {
+            return stored; // V13 이전의 원문 (기동 시 WebhookSecretMigration 이 암호화)
+        }
+        byte[] bytes = Base64.getDecoder().decode(stored.substring(PREFIX.length()));
+        try {
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, bytes, 0, IV_LENGTH));
+            return new String(cipher.doFinal(bytes, IV_LENGTH, bytes.length - IV_LENGTH), StandardCharsets.UTF_8);
+        } catch (GeneralSecurityException e) {
+            // 키가 바뀌었거나 값이 변조된 경우 (GCM 태그 불일치)
+            throw new IllegalStateException("webhook secret 을 복호화할 수 없습니다. webhook.secret-key 를 확인하세요.", e);
+        }
+    }
+
+    static boolean isEncrypted(String stored) {
+        return stored != null && stored.startsWith(PREFIX);
+    }
+}
@@ -0,0 +1,38 @@
+package com.aidetector.domain.webhook;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+// V13 이전에 원문으로 저장된 secret 을 기동 시 암호화 (Flyway 는 애플리케이션 키를 모르므로 여기서 처리)
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WebhookSecretMigration {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final WebhookSecretCipher webhookSecretCipher;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void encryptPlaintextSecrets() {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT id, secret FROM webhook_endpoints WHERE secret NOT LIKE 'v1:%'");
+
+        int encrypted = 0;
+        for (Map<String, Object> row : rows) {
+            String secret = (String) row.get("secret");
+            // 여러 노드가 동시에 기동해도 원문이 그대로인 행만 바꾸므로 한 번만 암호화됨
+            encrypted += jdbcTemplate.update("UPDATE webhook_endpoints SET secret = ? WHERE id = ? AND secret = ?",
+                    webhookSecretCipher.encrypt(secret), row.get("id"), secret);
+        }
+        if (encrypted > 0) {
+            log.info("[webhook] 원문으로 저장된 secret {}건 암호화", encrypted);
+        }
+    }
+}
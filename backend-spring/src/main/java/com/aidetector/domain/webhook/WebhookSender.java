@@ -0,0 +1,49 @@
+package com.aidetector.domain.webhook;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+
+import java.time.Duration;
+import java.time.Instant;
+
+// 배치 하나를 서명해 POST (2xx 가 아니거나 시간 초과면 예외)
+@Component
+public class WebhookSender {
+
+    static final String ID_HEADER = "X-Webhook-Id";
+    static final String TIMESTAMP_HEADER = "X-Webhook-Timestamp";
+    static final String SIGNATURE_HEADER = "X-Webhook-Signature";
+
+    private final WebClient webClient;
+    private final Duration timeout;
+
+    // 연결할 주소는 WebhookAddressGuard 가 해석 (내부망 주소면 연결 전에 실패, 리다이렉트는 따라가지 않음)
+    public WebhookSender(WebClient.Builder webClientBuilder,
+                         WebhookAddressGuard addressGuard,
+                         @Value("${webhook.dispatch.timeout:10s}") Duration timeout) {
+        this.webClient = webClientBuilder
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create().resolver(addressGuard.resolverGroup())))
+                .build();
+        this.timeout = timeout;
+    }
+
+    void send(WebhookBatch batch) {
+        String body = batch.body();
+        long timestamp = Instant.now().getEpochSecond();
+
+        webClient.post()
+                .uri(batch.url())
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(ID_HEADER, batch.batchId())
+                .header(TIMESTAMP_HEADER, String.valueOf(timestamp))
+                .header(SIGNATURE_HEADER, "sha256=" + WebhookSigner.sign(batch.secret(), timestamp, body))
+                .bodyValue(body)
+                .retrieve()
+                .toBodilessEntity()
+                .block(timeout);
+    }
+}
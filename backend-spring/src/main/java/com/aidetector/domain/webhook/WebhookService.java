@@ -0,0 +1,142 @@
+package com.aidetector.domain.webhook;
+
+import com.aidetector.domain.user.User;
+import com.aidetector.domain.user.UserRepository;
+import com.aidetector.domain.webhook.dto.WebhookDeadLetterDto;
+import com.aidetector.domain.webhook.dto.WebhookEndpointRequestDto;
+import com.aidetector.domain.webhook.dto.WebhookEndpointResponseDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.net.URI;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+@Slf4j
+public class WebhookService {
+
+    private static final int MAX_ENDPOINTS_PER_USER = 5;
+    private static final int MAX_CONCURRENCY = 8;
+    private static final int MAX_DEAD_LETTER_PAGE_SIZE = 500;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final WebhookEndpointRepository webhookEndpointRepository;
+    private final WebhookDeliveryRepository webhookDeliveryRepository;
+    private final UserRepository userRepository;
+    private final WebhookAddressGuard webhookAddressGuard;
+    private final WebhookSecretCipher webhookSecretCipher;
+
+    @Value("${webhook.default-concurrency:2}")
+    private int defaultConcurrency;
+
+    // false 면 로컬 개발용 http 엔드포인트도 허용
+    @Value("${webhook.require-https:true}")
+    private boolean requireHttps;
+
+    public WebhookEndpointResponseDto register(String email, WebhookEndpointRequestDto requestDto) {
+        User user = getUserByEmail(email);
+
+        if (webhookEndpointRepository.countByUserId(user.getId()) >= MAX_ENDPOINTS_PER_USER) {
+            throw new IllegalArgumentException("webhook 엔드포인트는 " + MAX_ENDPOINTS_PER_USER + "개까지 등록할 수 있습니다.");
+        }
+
+        int maxConcurrency = requestDto.getMaxConcurrency() != null ? requestDto.getMaxConcurrency() : defaultConcurrency;
+        if (maxConcurrency < 1 || maxConcurrency > MAX_CONCURRENCY) {
+            throw new IllegalArgumentException("동시 전송 수는 1 이상 " + MAX_CONCURRENCY + " 이하로 입력해야 합니다.");
+        }
+
+        String secret = createSecret();
+        WebhookEndpoint endpoint = webhookEndpointRepository.save(new WebhookEndpoint(
+                user.getId(), validateUrl(requestDto.getUrl()), webhookSecretCipher.encrypt(secret), maxConcurrency));
+        log.info("[webhook 등록] User: {}, EndpointId: {}, Url: {}", email, endpoint.getId(), endpoint.getUrl());
+
+        return WebhookEndpointResponseDto.withSecret(endpoint, secret);
+    }
+
+    @Transactional(readOnly = true)
+    public List<WebhookEndpointResponseDto> getEndpoints(String email) {
+        return webhookEndpointRepository.findAllByUserIdOrderByIdAsc(getUserByEmail(email).getId()).stream()
+                .map(WebhookEndpointResponseDto::fromEntity)
+                .toList();
+    }
+
+    // 대기 중인 전송 건도 FK ON DELETE CASCADE 로 함께 삭제
+    public void delete(String email, Long endpointId) {
+        webhookEndpointRepository.delete(getOwnedEndpoint(email, endpointId));
+        log.info("[webhook 삭제] User: {}, EndpointId: {}", email, endpointId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<WebhookDeadLetterDto> getDeadLetters(String email, Long endpointId, Long afterId, int size) {
+        getOwnedEndpoint(email, endpointId);
+        return webhookDeliveryRepository
+                .findDeadLetters(endpointId, afterId, Limit.of(Math.min(Math.max(size, 1), MAX_DEAD_LETTER_PAGE_SIZE)))
+                .stream()
+                .map(WebhookDeadLetterDto::fromEntity)
+                .toList();
+    }
+
+    // 수신 측 장애가 해결된 뒤 DEAD 건을 처음부터 다시 시도
+    public int retryDeadLetters(String email, Long endpointId) {
+        getOwnedEndpoint(email, endpointId);
+        int requeued = webhookDeliveryRepository.requeueDeadLetters(endpointId, LocalDateTime.now());
+        log.info("[webhook 재전송] User: {}, EndpointId: {}, {}건", email, endpointId, requeued);
+        return requeued;
+    }
+
+    private WebhookEndpoint getOwnedEndpoint(String email, Long endpointId) {
+        WebhookEndpoint endpoint = webhookEndpointRepository.findById(endpointId)
+                .orElseThrow(() -> new IllegalArgumentException("webhook 엔드포인트를 찾을 수 없습니다."));
+
+        if (!endpoint.getUserId().equals(getUserByEmail(email).getId())) {
+            throw new AccessDeniedException("본인의 webhook 엔드포인트만 관리할 수 있습니다.");
+        }
+        return endpoint;
+    }
+
+    private String validateUrl(String url) {
+        if (url == null || url.isBlank() || url.length() > 2048) {
+            throw new IllegalArgumentException("webhook URL 을 입력해야 합니다.");
+        }
+
+        URI uri;
+        try {
+            uri = URI.create(url);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("올바르지 않은 webhook URL 입니다.");
+        }
+
+        String scheme = uri.getScheme();
+        boolean allowed = "https".equalsIgnoreCase(scheme) || (!requireHttps && "http".equalsIgnoreCase(scheme));
+        if (!allowed || uri.getHost() == null) {
+            throw new IllegalArgumentException(requireHttps
+                    ? "webhook URL 은 https 여야 합니다."
+                    : "webhook URL 은 http 또는 https 여야 합니다.");
+        }
+
+        // 전송 시에도 같은 검사를 다시 하므로 등록 뒤 DNS 를 바꿔도 내부망으로는 보내지 않음
+        webhookAddressGuard.checkHost(uri.getHost());
+        return url;
+    }
+
+    private static String createSecret() {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        return HexFormat.of().formatHex(bytes);
+    }
+
+    private User getUserByEmail(String email) {
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
+    }
+}
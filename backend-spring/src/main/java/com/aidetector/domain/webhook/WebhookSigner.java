@@ -0,0 +1,31 @@
+package com.aidetector.domain.webhook;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.HexFormat;
+
+/**
+ * webhook 서명: HMAC-SHA256(secret, "{timestamp}.{body}") 의 hex.
+ * 수신 측은 X-Webhook-Timestamp 와 본문으로 같은 값을 계산해 X-Webhook-Signature(sha256=...) 와 비교하고,
+ * 오래된 timestamp 는 거부해 재전송 공격을 막는다.
+ */
+final class WebhookSigner {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private WebhookSigner() {
+    }
+
+    static String sign(String secret, long timestamp, String body) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM));
+            mac.update((timestamp + ".").getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(mac.doFinal(body.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("webhook 서명을 만들 수 없습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.aidetector.domain.webhook.dto;
+
+import com.aidetector.domain.webhook.WebhookDelivery;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class WebhookDeadLetterDto {
+    private Long id;
+    private Long detectionRequestId;
+    private String type;
+    private int attempts;
+    private String lastError;
+    private LocalDateTime createdAt;
+
+    public static WebhookDeadLetterDto fromEntity(WebhookDelivery entity) {
+        return WebhookDeadLetterDto.builder()
+                .id(entity.getId())
+                .detectionRequestId(entity.getDetectionRequestId())
+                .type(entity.getEventType().getValue())
+                .attempts(entity.getAttempts())
+                .lastError(entity.getLastError())
+                .createdAt(entity.getCreatedAt())
+                .build();
+    }
+}
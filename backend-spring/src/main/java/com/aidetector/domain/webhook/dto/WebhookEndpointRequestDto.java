@@ -0,0 +1,11 @@
+package com.aidetector.domain.webhook.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+public class WebhookEndpointRequestDto {
+    private String url;
+    private Integer maxConcurrency;    // 생략하면 webhook.default-concurrency
+}
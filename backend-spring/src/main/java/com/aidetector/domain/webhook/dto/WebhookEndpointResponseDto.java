@@ -0,0 +1,35 @@
+package com.aidetector.domain.webhook.dto;
+
+import com.aidetector.domain.webhook.WebhookEndpoint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder(toBuilder = true)
+@AllArgsConstructor
+public class WebhookEndpointResponseDto {
+    private Long id;
+    private String url;
+    private String secret;             // 등록 응답에서만 포함, 목록 조회에서는 null
+    private int maxConcurrency;
+    private LocalDateTime createdAt;
+
+    public static WebhookEndpointResponseDto fromEntity(WebhookEndpoint entity) {
+        return WebhookEndpointResponseDto.builder()
+                .id(entity.getId())
+                .url(entity.getUrl())
+                .maxConcurrency(entity.getMaxConcurrency())
+                .createdAt(entity.getCreatedAt())
+                .build();
+    }
+
+    // 엔티티에는 암호화된 값만 있으므로 원문 secret 을 따로 받음
+    public static WebhookEndpointResponseDto withSecret(WebhookEndpoint entity, String secret) {
+        return fromEntity(entity).toBuilder()
+                .secret(secret)
+                .build();
+    }
+}
@@ -0,0 +1,55 @@
+package com.aidetector.domain.webhook.dto;
+
+import com.aidetector.domain.detection.DetectionLabel;
+import com.aidetector.domain.detection.DetectionRequest;
+import com.aidetector.domain.detection.DetectionResult;
+import com.aidetector.domain.webhook.WebhookEventType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// webhook 본문 {"events": [...]} 의 한 건 (라벨은 Locale 과 무관하게 enum 이름으로 전달)
+@Getter
+@Builder
+@AllArgsConstructor
+public class WebhookEventDto {
+    private String eventId;            // 재전송 시에도 같은 값 (수신 측 중복 제거용)
+    private String type;
+    private LocalDateTime occurredAt;
+    private Long requestId;
+    private String status;
+    private String label;
+    private String state;
+    private Double confidence;
+    private Double ssim;
+    private Double lpips;
+    private Double rm;
+    private Double pvr;
+    private String modelVersion;
+    private String originalImageUrl;
+
+    public static WebhookEventDto of(WebhookEventType type, DetectionRequest request) {
+        DetectionResult result = request.getResult();
+        DetectionLabel label = result.getLabel();
+
+        return WebhookEventDto.builder()
+                .eventId(UUID.randomUUID().toString())
+                .type(type.getValue())
+                .occurredAt(LocalDateTime.now())
+                .requestId(request.getId())
+                .status(request.getStatus().name())
+                .label(label != null ? label.name() : null)
+                .state(label != null ? label.getState() : null)
+                .confidence(result.getConfidence())
+                .ssim(result.getSsim())
+                .lpips(result.getLpips())
+                .rm(result.getRm())
+                .pvr(result.getPvr())
+                .modelVersion(request.getModelVersion())
+                .originalImageUrl(request.getStoredFilePath())
+                .build();
+    }
+}
@@ -0,0 +1,98 @@
+package com.aidetector.global.config;
+
+import com.aidetector.domain.detection.inference.InferenceEngine;
+import com.aidetector.domain.detection.inference.OnnxInferenceEngine;
+import org.springframework.aot.AotDetector;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.NativeDetector;
+
+import java.util.List;
+
+/**
+ * GraalVM native image 용 리플렉션/리소스 힌트.
+ * Spring AOT 가 찾지 못하는 라이브러리 내부의 리플렉션 생성과 classpath 리소스 조회를 등록한다.
+ * (Hibernate, MySQL 드라이버 등은 build.gradle 의 metadataRepository 로 처리)
+ *
+ * ONNX 엔진(inference.engine=onnx)은 native image 에서 지원하지 않는다.
+ * ONNX Runtime 은 JNI 로 Java 객체를 만들고 플랫폼별 .so 를 jar 에서 풀어 로드하는데, 이 힌트는 reachability metadata 에 없고
+ * 검증한 적도 없으므로 기동 시 거부한다 (ONNX 는 일반 jar 또는 AOT jar 로 실행).
+ * 또한 AOT 처리된 jar/native image 는 @ConditionalOnProperty 를 빌드 시점에 평가하므로,
+ * 실행 시 지정한 inference.engine 과 빌드에 들어간 엔진이 다르면 조용히 다른 엔진을 쓰지 않도록 기동을 멈춘다.
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.ThirdPartyRuntimeHints.class)
+public class NativeHintsConfig {
+
+    public NativeHintsConfig(@Value("${inference.engine:fastapi}") String engine, InferenceEngine inferenceEngine) {
+        boolean onnx = "onnx".equals(engine);
+        if (onnx && NativeDetector.inNativeImage()) {
+            throw new IllegalStateException("native image 에서는 inference.engine=onnx 를 지원하지 않습니다. "
+                    + "ONNX 엔진은 JVM(jar 또는 AOT jar)으로 실행하세요.");
+        }
+        if (AotDetector.useGeneratedArtifacts() && onnx != (inferenceEngine instanceof OnnxInferenceEngine)) {
+            throw new IllegalStateException("inference.engine=" + engine + " 이 AOT 빌드에 포함된 엔진("
+                    + inferenceEngine.getClass().getSimpleName() + ")과 다릅니다. 같은 설정으로 다시 빌드하세요.");
+        }
+    }
+
+    static class ThirdPartyRuntimeHints implements RuntimeHintsRegistrar {
+
+        // JJWT 0.11: api 모듈이 impl/jackson 구현체를 클래스 이름으로 생성
+        private static final List<String> JJWT_TYPES = List.of(
+                "io.jsonwebtoken.impl.DefaultJwtBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParser",
+                "io.jsonwebtoken.impl.DefaultClaims",
+                "io.jsonwebtoken.impl.compression.DefaultCompressionCodecResolver",
+                "io.jsonwebtoken.jackson.io.JacksonSerializer",
+                "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+        );
+
+        // AWS SDK v1: 서명기는 SignerFactory 가 이름으로 생성, 엔드포인트/설정 JSON 은 Jackson 으로 역직렬화
+        private static final List<String> AWS_TYPES = List.of(
+                "com.amazonaws.auth.AWS4Signer",
+                "com.amazonaws.services.s3.internal.AWSS3V4Signer",
+                "com.amazonaws.services.s3.internal.S3Signer",
+                "com.amazonaws.partitions.model.Partitions",
+                "com.amazonaws.partitions.model.Partition",
+                "com.amazonaws.partitions.model.Region",
+                "com.amazonaws.partitions.model.Service",
+                "com.amazonaws.partitions.model.Endpoint",
+                "com.amazonaws.partitions.model.CredentialScope",
+                "com.amazonaws.internal.config.InternalConfigJsonHelper",
+                "com.amazonaws.internal.config.SignerConfigJsonHelper",
+                "com.amazonaws.internal.config.JsonIndex",
+                "com.amazonaws.internal.config.HttpClientConfigJsonHelper",
+                "com.amazonaws.internal.config.HostRegexToRegionMappingJsonHelper"
+        );
+
+        private static final List<String> RESOURCES = List.of(
+                "META-INF/services/io.jsonwebtoken.*",
+                "com/amazonaws/partitions/endpoints.json",
+                "com/amazonaws/internal/config/awssdk_config_default.json",
+                "com/amazonaws/sdk/versionInfo.properties"
+        );
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (String type : JJWT_TYPES) {
+                hints.reflection().registerType(TypeReference.of(type),
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+            for (String type : AWS_TYPES) {
+                hints.reflection().registerType(TypeReference.of(type),
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS,
+                        MemberCategory.DECLARED_FIELDS);
+            }
+            for (String pattern : RESOURCES) {
+                hints.resources().registerPattern(pattern);
+            }
+        }
+    }
+}
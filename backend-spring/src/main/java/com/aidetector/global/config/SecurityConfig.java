@@ -3,6 +3,8 @@ package com.aidetector.global.config;
 import com.aidetector.global.security.JwtAuthenticationFilter;
 import com.aidetector.global.security.JwtTokenProvider;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -21,6 +23,7 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 @Configuration
 @EnableWebSecurity
 @RequiredArgsConstructor
+@Slf4j
 public class SecurityConfig {
 
     private final JwtTokenProvider jwtTokenProvider;
@@ -36,7 +39,9 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/v1/user/login", "/api/v1/user/signup").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/v1/detection/upload").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/v1/detection/*/heatmap").permitAll() // 비회원 분석 결과의 히트맵 (X-Result-Token 으로 확인)
                         .requestMatchers("/api/v1/detection/history/**").authenticated()
+                        .requestMatchers("/api/v1/admin/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
                 // JWT 필터를 Security 필터 체인에 등록
@@ -65,7 +70,31 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${security.password.target-hash-ms:250}") long targetHashMillis,
+            @Value("${security.password.min-strength:10}") int minStrength,
+            @Value("${security.password.max-strength:14}") int maxStrength
+    ) {
+        int strength = calibrateStrength(targetHashMillis, minStrength, maxStrength);
+        log.info("[비밀번호 해시] BCrypt cost {} 사용 (목표 {}ms)", strength, targetHashMillis);
+        return new BCryptPasswordEncoder(strength);
+    }
+
+    // 이 서버에서 해시 1회가 목표 시간을 넘지 않는 가장 큰 cost 를 선택 (cost 가 1 오르면 시간은 약 2배)
+    private int calibrateStrength(long targetHashMillis, int minStrength, int maxStrength) {
+        new BCryptPasswordEncoder(minStrength).encode("warm-up");
+
+        int strength = minStrength;
+        while (strength < maxStrength) {
+            long start = System.nanoTime();
+            new BCryptPasswordEncoder(strength).encode("calibration");
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            if (elapsedMillis * 2 > targetHashMillis) {
+                break;
+            }
+            strength++;
+        }
+        return strength;
     }
 }
\ No newline at end of file
@@ -15,6 +15,8 @@ public class WebClientConfig {
     public WebClient fastapiClient() {
         return WebClient.builder()
                 .baseUrl(aiServerUrl)
+                // inline 전송 시 히트맵 PNG 를 응답 본문으로 받으므로 기본 버퍼(256KB)보다 크게 설정
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(16 * 1024 * 1024))
                 .build();
     }
 }
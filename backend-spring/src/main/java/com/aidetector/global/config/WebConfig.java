@@ -1,13 +1,32 @@
 package com.aidetector.global.config;
 
+import com.aidetector.global.monitoring.ServerTimingAdvice;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.LocaleResolver;
+import org.springframework.web.servlet.config.annotation.CorsRegistration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.i18n.AcceptHeaderLocaleResolver;
+
+import java.util.Locale;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    @Value("${monitoring.server-timing.enabled:false}")
+    private boolean serverTimingEnabled;
+
+    // Accept-Language 가 없으면 한국어 라벨 이름으로 응답
+    @Bean
+    public LocaleResolver localeResolver() {
+        AcceptHeaderLocaleResolver resolver = new AcceptHeaderLocaleResolver();
+        resolver.setDefaultLocale(Locale.KOREAN);
+        return resolver;
+    }
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
 
@@ -17,7 +36,7 @@ public class WebConfig implements WebMvcConfigurer {
 
     @Override
     public void addCorsMappings(CorsRegistry registry) {
-        registry.addMapping("/**")
+        CorsRegistration registration = registry.addMapping("/**")
                 // 프론트 서버의 접근을 허용
                 .allowedOrigins(
                         "http://localhost:3000",
@@ -31,5 +50,10 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedHeaders("*")
                 // 쿠키 등 인증 정보 포함 허용
                 .allowCredentials(true);
+
+        // 단계별 소요 시간 헤더를 켠 경우에만 프론트(관리자 화면)에서 읽을 수 있게 노출
+        if (serverTimingEnabled) {
+            registration.exposedHeaders(ServerTimingAdvice.SERVER_TIMING);
+        }
     }
 }
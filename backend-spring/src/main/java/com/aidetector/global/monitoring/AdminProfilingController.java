@@ -0,0 +1,56 @@
+package com.aidetector.global.monitoring;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// 관리자 전용 (SecurityConfig 에서 /api/v1/admin/** 는 ROLE_ADMIN 필요)
+@RestController
+@RequestMapping("/api/v1/admin/profiling/jfr")
+@RequiredArgsConstructor
+public class AdminProfilingController {
+
+    private final JfrRecordingService jfrRecordingService;
+
+    // settings: default(상시 운영용) / profile(메서드 샘플링 강화, 단기 분석용)
+    @PostMapping("/start")
+    public ResponseEntity<JfrRecordingStatusDto> startRecording(
+            @RequestParam(defaultValue = "default") String settings
+    ) {
+        return ResponseEntity.ok(jfrRecordingService.start(settings));
+    }
+
+    @GetMapping
+    public ResponseEntity<JfrRecordingStatusDto> getRecording() {
+        return ResponseEntity.ok(jfrRecordingService.status());
+    }
+
+    // 녹화를 멈추고 JDK Mission Control 로 열 수 있는 .jfr 파일을 내려받음
+    @PostMapping("/stop")
+    public ResponseEntity<StreamingResponseBody> stopRecording() throws IOException {
+        Path file = jfrRecordingService.stopAndDump();
+
+        StreamingResponseBody body = outputStream -> {
+            try {
+                Files.copy(file, outputStream);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .contentLength(Files.size(file))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(file.getFileName().toString()).build().toString())
+                .body(body);
+    }
+}
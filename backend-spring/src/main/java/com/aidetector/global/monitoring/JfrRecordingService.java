@@ -0,0 +1,107 @@
+package com.aidetector.global.monitoring;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * 운영 중 JFR 녹화 (한 번에 하나).
+ * 디스크에 쓰지 않는 in-memory 녹화라 JFR 전역 버퍼(순환)만 사용하므로 메모리 상한이 고정되고,
+ * default 설정 기준 오버헤드는 1% 안팎이다. 잊고 켜 둔 녹화는 max-duration 이 지나면 버린다.
+ */
+@Service
+@Slf4j
+public class JfrRecordingService {
+
+    private static final Set<String> SETTINGS = Set.of("default", "profile");
+
+    @Value("${monitoring.jfr.max-duration:30m}")
+    private Duration maxDuration;
+
+    private Recording recording;       // this 로 보호
+    private Instant expiresAt;
+
+    public synchronized JfrRecordingStatusDto start(String settings) {
+        if (recording != null) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "이미 진행 중인 JFR 녹화가 있습니다.");
+        }
+        if (!SETTINGS.contains(settings)) {
+            throw new IllegalArgumentException("지원하지 않는 JFR 설정입니다: " + settings);
+        }
+
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings);
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("JFR 설정을 읽을 수 없습니다: " + settings, e);
+        }
+
+        Recording created = new Recording(configuration);
+        created.setName("ai-detector-" + settings);
+        created.setToDisk(false);
+        created.enable(StageEvent.class);
+        created.start();
+
+        recording = created;
+        expiresAt = Instant.now().plus(maxDuration);
+        log.info("[JFR] 녹화 시작: {}, 만료 {}", created.getName(), expiresAt);
+        return status();
+    }
+
+    public synchronized JfrRecordingStatusDto status() {
+        if (recording == null) {
+            return JfrRecordingStatusDto.builder().state(RecordingState.CLOSED.name()).build();
+        }
+        return JfrRecordingStatusDto.builder()
+                .name(recording.getName())
+                .state(recording.getState().name())
+                .startedAt(recording.getStartTime())
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    // 녹화를 멈추고 .jfr 파일로 덤프 (파일은 호출 측에서 전송 후 삭제)
+    public synchronized Path stopAndDump() throws IOException {
+        if (recording == null) {
+            throw new IllegalArgumentException("진행 중인 JFR 녹화가 없습니다.");
+        }
+
+        Path file = Files.createTempFile("ai-detector-", ".jfr");
+        try {
+            // in-memory 녹화는 멈추기 전에 버퍼를 덤프해야 함
+            recording.dump(file);
+        } finally {
+            close();
+        }
+        log.info("[JFR] 녹화 종료: {} ({} bytes)", file, Files.size(file));
+        return file;
+    }
+
+    @Scheduled(fixedDelayString = "PT1M")
+    public synchronized void discardExpired() {
+        if (recording != null && Instant.now().isAfter(expiresAt)) {
+            log.warn("[JFR] 최대 녹화 시간이 지나 녹화를 버립니다: {}", recording.getName());
+            close();
+        }
+    }
+
+    private void close() {
+        recording.close();
+        recording = null;
+        expiresAt = null;
+    }
+}
@@ -0,0 +1,17 @@
+package com.aidetector.global.monitoring;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Instant;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class JfrRecordingStatusDto {
+    private String name;
+    private String state;
+    private Instant startedAt;
+    private Instant expiresAt;
+}
@@ -0,0 +1,132 @@
+package com.aidetector.global.monitoring;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 요청 단위 단계별 소요 시간.
+ * 각 단계는 JFR {@link StageEvent} 로 기록되고, 같은 값이 Server-Timing 헤더로도 내려간다.
+ * ServerTimingFilter 가 요청 스레드에 바인딩하며, 다른 스레드(S3 업로드, AI 서버 호출)에서 잴 때는
+ * 요청 스레드에서 {@link #current()} 로 잡아 둔 인스턴스를 넘겨 쓴다.
+ */
+public final class RequestTimings {
+
+    public static final String ATTRIBUTE = RequestTimings.class.getName();
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+    // 요청 밖(스케줄러, 배치)에서는 JFR 이벤트만 남기고 시간은 모으지 않음
+    private static final RequestTimings DETACHED = new RequestTimings(null, null, false);
+
+    private final String method;
+    private final String path;
+    private final boolean collect;
+    private final long startedAt = System.nanoTime();
+    private final ConcurrentLinkedQueue<Entry> entries = new ConcurrentLinkedQueue<>();
+
+    private RequestTimings(String method, String path, boolean collect) {
+        this.method = method;
+        this.path = path;
+        this.collect = collect;
+    }
+
+    static RequestTimings bind(String method, String path) {
+        RequestTimings timings = new RequestTimings(method, path, true);
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    public static RequestTimings current() {
+        RequestTimings timings = CURRENT.get();
+        return timings != null ? timings : DETACHED;
+    }
+
+    public static Stage stage(String name) {
+        return current().start(name);
+    }
+
+    public Stage start(String name) {
+        return new Stage(this, name);
+    }
+
+    // 현재 트랜잭션의 flush + commit 시간을 단계로 기록 (쓰기 지연된 insert/update 가 여기서 실행됨)
+    public void timeCommit(String name) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private Stage commit;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                commit = start(name);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (commit != null) {
+                    commit.close();
+                }
+            }
+        });
+    }
+
+    // 예: auth;dur=0.4, db-save;dur=3.1, inference;dur=812.0, total;dur=840.2
+    String toHeader() {
+        StringBuilder header = new StringBuilder();
+        for (Entry entry : entries) {
+            appendMetric(header, entry.name, entry.nanos);
+        }
+        appendMetric(header, "total", System.nanoTime() - startedAt);
+        return header.toString();
+    }
+
+    private void record(String name, long nanos) {
+        if (collect) {
+            entries.add(new Entry(name, nanos));
+        }
+    }
+
+    private static void appendMetric(StringBuilder header, String name, long nanos) {
+        if (!header.isEmpty()) {
+            header.append(", ");
+        }
+        header.append(name).append(";dur=").append(String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0));
+    }
+
+    public static final class Stage implements AutoCloseable {
+
+        private final RequestTimings timings;
+        private final String name;
+        private final StageEvent event = new StageEvent();
+        private final long startedAt = System.nanoTime();
+
+        private Stage(RequestTimings timings, String name) {
+            this.timings = timings;
+            this.name = name;
+            event.begin();
+        }
+
+        @Override
+        public void close() {
+            long elapsed = System.nanoTime() - startedAt;
+            event.end();
+            if (event.shouldCommit()) {
+                event.stage = name;
+                event.method = timings.method;
+                event.path = timings.path;
+                event.commit();
+            }
+            timings.record(name, elapsed);
+        }
+    }
+
+    private record Entry(String name, long nanos) {
+    }
+}
@@ -0,0 +1,39 @@
+package com.aidetector.global.monitoring;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+// 응답 본문을 쓰기 직전(헤더 커밋 전)에 지금까지 잰 단계를 Server-Timing 헤더로 추가
+// 단계 이름과 시간은 내부 구조(DB, S3, 추론 대기열)를 드러내므로 설정이 켜져 있어도 관리자 요청에만 포함
+@RestControllerAdvice
+public class ServerTimingAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String SERVER_TIMING = "Server-Timing";
+
+    @Value("${monitoring.server-timing.enabled:false}")
+    private boolean enabled;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return enabled;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest
+                && servletRequest.getServletRequest().isUserInRole("ADMIN")
+                && servletRequest.getServletRequest().getAttribute(RequestTimings.ATTRIBUTE) instanceof RequestTimings timings) {
+            response.getHeaders().add(SERVER_TIMING, timings.toHeader());
+        }
+        return body;
+    }
+}
@@ -0,0 +1,31 @@
+package com.aidetector.global.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Security 필터 체인보다 먼저 실행되어 JWT 인증 시간까지 잴 수 있게 함
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        RequestTimings timings = RequestTimings.bind(request.getMethod(), request.getRequestURI());
+        request.setAttribute(RequestTimings.ATTRIBUTE, timings);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestTimings.unbind();
+        }
+    }
+}
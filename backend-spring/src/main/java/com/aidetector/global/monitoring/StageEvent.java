@@ -0,0 +1,26 @@
+package com.aidetector.global.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// 요청 처리 단계 하나의 소요 시간 (JFR 녹화가 켜져 있을 때만 기록됨)
+@Name("com.aidetector.Stage")
+@Label("Request Stage")
+@Category({"AI Detector", "Request"})
+@Description("업로드/인증 요청의 단계별 소요 시간")
+@StackTrace(false)
+class StageEvent extends Event {
+
+    @Label("Stage")
+    String stage;
+
+    @Label("Method")
+    String method;
+
+    @Label("Path")
+    String path;
+}
@@ -7,11 +7,16 @@ import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
 import java.util.Base64;
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 
 @Component
 public class JwtTokenProvider {
@@ -19,6 +24,8 @@ public class JwtTokenProvider {
     @Value("${jwt.secret}")
     private String secretKey;
 
+    private static final String USER_ID_CLAIM = "uid";
+
     private Key key;
 
     @PostConstruct
@@ -28,8 +35,10 @@ public class JwtTokenProvider {
     }
 
     // 토큰 생성
-    public String createToken(String email) {
+    public String createToken(String email, String role, Long userId) {
         Claims claims = Jwts.claims().setSubject(email);
+        claims.put("role", role);
+        claims.put(USER_ID_CLAIM, userId);
         Date now = new Date();
         // 24시간
         long tokenValidityInMilliseconds = 1000L * 60 * 60 * 24;
@@ -58,4 +67,31 @@ public class JwtTokenProvider {
             return false;
         }
     }
+
+    // 토큰을 한 번만 파싱해 인증 객체 생성 (유효하지 않으면 null)
+    public Authentication getAuthentication(String token) {
+        Claims claims;
+        try {
+            claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+
+        // role 클레임이 없는 기존 토큰은 일반 사용자로 취급
+        String role = claims.get("role", String.class);
+        List<SimpleGrantedAuthority> authorities = role == null
+                ? Collections.emptyList()
+                : List.of(new SimpleGrantedAuthority("ROLE_" + role));
+
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(claims.getSubject(), null, authorities);
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        authentication.setDetails(userId != null ? userId.longValue() : null);
+        return authentication;
+    }
+
+    // 토큰의 사용자 ID (소유자 확인을 DB 조회 없이 하기 위함), uid 클레임이 없는 기존 토큰이면 null
+    public static Long getUserId(Authentication authentication) {
+        return authentication != null && authentication.getDetails() instanceof Long userId ? userId : null;
+    }
 }
@@ -0,0 +1,88 @@
+package com.aidetector.global.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 계정별 로그인 실패 횟수 제한.
+ * 잠긴 계정은 DB 조회나 BCrypt 해시 없이 바로 429 로 거절한다.
+ */
+@Component
+public class LoginAttemptLimiter {
+
+    private final ConcurrentHashMap<String, Attempts> attempts = new ConcurrentHashMap<>();
+
+    @Value("${security.login.max-failures:5}")
+    private int maxFailures;
+
+    @Value("${security.login.lock-duration:15m}")
+    private Duration lockDuration;
+
+    public void checkAllowed(String email) {
+        if (email == null) {
+            return;
+        }
+        Attempts current = attempts.get(key(email));
+        if (current != null && current.lockedUntil != null && Instant.now().isBefore(current.lockedUntil)) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "로그인 시도가 너무 많습니다. 잠시 후 다시 시도해주세요.");
+        }
+    }
+
+    public void recordFailure(String email) {
+        if (email == null) {
+            return;
+        }
+        Instant now = Instant.now();
+        attempts.compute(key(email), (key, current) -> {
+            // 잠금이 풀렸거나 마지막 실패 후 잠금 시간만큼 지났으면 새로 집계
+            if (current == null || current.isExpired(now, lockDuration)) {
+                current = new Attempts();
+            }
+            current.failures++;
+            current.lastFailure = now;
+            if (current.failures >= maxFailures) {
+                current.lockedUntil = now.plus(lockDuration);
+            }
+            return current;
+        });
+    }
+
+    public void recordSuccess(String email) {
+        if (email == null) {
+            return;
+        }
+        attempts.remove(key(email));
+    }
+
+    // 이메일 조회는 대소문자를 구분하지 않으므로(MySQL 기본 collation) 대소문자/공백만 바꾼 시도도 같은 계정으로 집계
+    private static String key(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    @Scheduled(fixedDelayString = "PT10M")
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        attempts.values().removeIf(current -> current.isExpired(now, lockDuration));
+    }
+
+    private static final class Attempts {
+        private volatile int failures;
+        private volatile Instant lastFailure;
+        private volatile Instant lockedUntil;
+
+        private boolean isExpired(Instant now, Duration window) {
+            if (lockedUntil != null) {
+                return now.isAfter(lockedUntil);
+            }
+            return lastFailure != null && now.isAfter(lastFailure.plus(window));
+        }
+    }
+}
@@ -1,21 +1,29 @@
 package com.aidetector.global.util;
 
+import com.aidetector.global.monitoring.RequestTimings;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.PutObjectRequest;
-import lombok.RequiredArgsConstructor;
+import com.amazonaws.util.IOUtils;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class S3Service {
 
@@ -24,6 +32,19 @@ public class S3Service {
     @Value("${cloud.aws.s3.bucket}")
     private String bucket;
 
+    // 요청 스레드 밖에서 실행되는 업로드
+    private final ExecutorService uploadExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    // 진행 중인 업로드 수 제한 (각 업로드가 이미지 byte[] 전체를 들고 있으므로 메모리 상한)
+    // 자리가 없으면 호출한 요청 스레드가 기다림
+    private final Semaphore uploadPermits;
+
+    public S3Service(AmazonS3 amazonS3,
+                     @Value("${s3.upload.max-pending:32}") int maxPendingUploads) {
+        this.amazonS3 = amazonS3;
+        this.uploadPermits = new Semaphore(maxPendingUploads);
+    }
+
     public String upload(MultipartFile multipartFile) throws IOException {
         // 파일 이름 설정
         String fileName = UUID.randomUUID() + "_" + multipartFile.getOriginalFilename();
@@ -40,6 +61,70 @@ public class S3Service {
         return amazonS3.getUrl(bucket, fileName).toString();
     }
 
+    // 업로드 전에 키와 public url 을 먼저 정해 두고, 업로드는 uploadAsync 로 분리
+    public String createKey(String originalFilename) {
+        return UUID.randomUUID() + "_" + originalFilename;
+    }
+
+    public String getUrl(String key) {
+        return amazonS3.getUrl(bucket, key).toString();
+    }
+
+    // 호출 측은 커밋/응답 전에 반드시 join 해야 함 (실패하면 저장된 URL 이 존재하지 않는 객체를 가리킴)
+    public CompletableFuture<Void> uploadAsync(byte[] bytes, String key, String contentType) {
+        try {
+            uploadPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("S3 업로드 대기 중 중단되었습니다.", e);
+        }
+
+        RequestTimings timings = RequestTimings.current();
+        CompletableFuture<Void> upload;
+        try {
+            upload = CompletableFuture.runAsync(() -> {
+                try (RequestTimings.Stage ignored = timings.start("s3-upload")) {
+                    upload(bytes, key, contentType);
+                }
+            }, uploadExecutor);
+        } catch (RuntimeException e) {
+            uploadPermits.release();
+            throw e;
+        }
+
+        return upload.whenComplete((ignored, e) -> {
+            uploadPermits.release();
+            if (e != null) {
+                log.error("S3 비동기 업로드 실패: {}, {}", key, e.getMessage());
+            }
+        });
+    }
+
+    public String upload(byte[] bytes, String key, String contentType) {
+        ObjectMetadata objMeta = new ObjectMetadata();
+        objMeta.setContentLength(bytes.length);
+        objMeta.setContentType(contentType);
+
+        amazonS3.putObject(new PutObjectRequest(bucket, key, new ByteArrayInputStream(bytes), objMeta));
+        return getUrl(key);
+    }
+
+    public byte[] download(String fileUrl) throws IOException {
+        String key = URLDecoder.decode(fileUrl.substring(fileUrl.lastIndexOf("/") + 1), StandardCharsets.UTF_8);
+
+        try (InputStream in = amazonS3.getObject(bucket, key).getObjectContent()) {
+            return IOUtils.toByteArray(in);
+        }
+    }
+
+    @PreDestroy
+    public void flushPendingUploads() throws InterruptedException {
+        uploadExecutor.shutdown();
+        if (!uploadExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("종료 시점에 완료되지 않은 S3 업로드가 있습니다.");
+        }
+    }
+
     public void delete(String fileUrl) {
         if (fileUrl == null || fileUrl.isEmpty()) return;
 
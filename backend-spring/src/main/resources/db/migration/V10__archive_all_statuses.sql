@@ -0,0 +1,4 @@
+-- 보존 기간이 지난 파티션의 행을 상태와 관계없이 아카이브 (실패 건도 원본 S3 객체와 이력 화면에 남아 있으므로)
+-- 기존 아카이브 행은 완료 결과만 옮겨진 것
+ALTER TABLE detection_requests_archive
+    ADD COLUMN status ENUM ('PROCESSING', 'COMPLETED', 'FAILED') NOT NULL DEFAULT 'COMPLETED';
@@ -0,0 +1,3 @@
+-- 같은 Idempotency-Key 로 다른 파일을 보낸 요청을 구분하기 위한 요청 본문 해시 (기존 행은 NULL)
+ALTER TABLE idempotency_keys
+    ADD COLUMN request_hash CHAR(64) NULL;
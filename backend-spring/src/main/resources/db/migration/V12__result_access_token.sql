@@ -0,0 +1,7 @@
+-- 비회원 분석 결과 조회용 토큰 (업로드 응답으로만 전달, 회원 분석 건과 기존 행은 NULL)
+-- 기존 비회원 행은 토큰이 없어 더 이상 조회할 수 없음 (순차 ID 로 남의 결과를 열람하던 경로를 막음)
+ALTER TABLE detection_requests
+    ADD COLUMN access_token CHAR(43) NULL;
+
+ALTER TABLE detection_requests_archive
+    ADD COLUMN access_token CHAR(43) NULL;
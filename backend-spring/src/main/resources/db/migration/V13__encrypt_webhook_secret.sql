@@ -0,0 +1,4 @@
+-- webhook secret 을 애플리케이션 키로 암호화해 저장 ("v1:" + Base64(IV + 암호문 + 태그), 최대 약 130자)
+-- 기존 원문 행은 기동 시 WebhookSecretMigration 이 암호화
+ALTER TABLE webhook_endpoints
+    MODIFY COLUMN secret VARCHAR(255) NOT NULL;
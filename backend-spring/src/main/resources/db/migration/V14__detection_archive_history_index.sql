@@ -0,0 +1,8 @@
+-- 이력 검색이 아카이브도 이어서 읽으므로 V7 과 같은 커버링 인덱스를 아카이브에도 둔다
+-- (아카이브는 라벨 조건이 있어도 사용자별 건수가 적어 user_id + created_at 순서 인덱스 하나로 충분)
+ALTER TABLE detection_requests_archive
+    ADD INDEX idx_detection_archive_user_created_filter (user_id, created_at, id, label, confidence_e4, status);
+
+-- (user_id, created_at) 는 위 인덱스의 앞부분과 같으므로 제거
+ALTER TABLE detection_requests_archive
+    DROP INDEX idx_detection_archive_user_created;
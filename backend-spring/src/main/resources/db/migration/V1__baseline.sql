@@ -0,0 +1,50 @@
+-- 기존 ddl-auto(update) 로 만들어진 스키마와 동일한 baseline
+-- 이미 테이블이 있는 DB에서는 아무 것도 바꾸지 않는다
+
+CREATE TABLE IF NOT EXISTS users
+(
+    id         BIGINT       NOT NULL,
+    email      VARCHAR(255) NOT NULL,
+    password   VARCHAR(255) NOT NULL,
+    name       VARCHAR(255),
+    created_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS detection_requests
+(
+    id                 BIGINT NOT NULL,
+    user_id            BIGINT,
+    original_file_name VARCHAR(255),
+    stored_file_path   VARCHAR(255),
+    status             ENUM ('PROCESSING', 'COMPLETED', 'FAILED'),
+    created_at         DATETIME(6),
+    label              INT,
+    label_name         VARCHAR(255),
+    state              VARCHAR(255),
+    confidence         DOUBLE,
+    ssim               DOUBLE,
+    lpips              DOUBLE,
+    rm                 DOUBLE,
+    pvr                DOUBLE,
+    heatmap_url        VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_detection_requests_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
+
+-- pooled-lo 테이블 ID 생성기: next_val 은 다음에 예약될 블록의 시작 ID
+CREATE TABLE IF NOT EXISTS id_generators
+(
+    sequence_name VARCHAR(255) NOT NULL,
+    next_val      BIGINT,
+    PRIMARY KEY (sequence_name)
+) ENGINE = InnoDB;
+
+INSERT IGNORE INTO id_generators (sequence_name, next_val)
+SELECT 'detection_requests', COALESCE(MAX(id), 0) + 1
+FROM detection_requests;
+
+INSERT IGNORE INTO id_generators (sequence_name, next_val)
+SELECT 'users', COALESCE(MAX(id), 0) + 1
+FROM users;
@@ -0,0 +1,66 @@
+-- detection_requests 를 created_at 기준 월 단위 RANGE 파티션으로 전환
+-- 오래된 파티션은 DetectionRetentionScheduler 가 아카이브 후 통째로 DROP 한다
+
+-- 파티션 테이블은 FK 를 지원하지 않으므로 users 참조 FK 제거 (ddl-auto 가 만든 FK 이름은 환경마다 다름)
+SET @fk_name = (SELECT CONSTRAINT_NAME
+                FROM information_schema.REFERENTIAL_CONSTRAINTS
+                WHERE CONSTRAINT_SCHEMA = DATABASE()
+                  AND TABLE_NAME = 'detection_requests'
+                  AND REFERENCED_TABLE_NAME = 'users'
+                LIMIT 1);
+SET @drop_fk = IF(@fk_name IS NULL, 'DO 0',
+                  CONCAT('ALTER TABLE detection_requests DROP FOREIGN KEY ', @fk_name));
+PREPARE stmt FROM @drop_fk;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 파티션 키는 모든 unique key(PK 포함)에 포함되어야 한다
+UPDATE detection_requests SET created_at = NOW(6) WHERE created_at IS NULL;
+
+ALTER TABLE detection_requests
+    MODIFY id BIGINT NOT NULL,
+    MODIFY created_at DATETIME(6) NOT NULL,
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, created_at),
+    ADD INDEX idx_detection_user_created (user_id, created_at);
+
+ALTER TABLE detection_requests
+    PARTITION BY RANGE COLUMNS (created_at) (
+        PARTITION p202512 VALUES LESS THAN ('2026-01-01'),
+        PARTITION p202601 VALUES LESS THAN ('2026-02-01'),
+        PARTITION p202602 VALUES LESS THAN ('2026-03-01'),
+        PARTITION p202603 VALUES LESS THAN ('2026-04-01'),
+        PARTITION p202604 VALUES LESS THAN ('2026-05-01'),
+        PARTITION p202605 VALUES LESS THAN ('2026-06-01'),
+        PARTITION p202606 VALUES LESS THAN ('2026-07-01'),
+        PARTITION p202607 VALUES LESS THAN ('2026-08-01'),
+        PARTITION p202608 VALUES LESS THAN ('2026-09-01'),
+        PARTITION p202609 VALUES LESS THAN ('2026-10-01'),
+        PARTITION p202610 VALUES LESS THAN ('2026-11-01'),
+        PARTITION p202611 VALUES LESS THAN ('2026-12-01'),
+        PARTITION p202612 VALUES LESS THAN ('2027-01-01'),
+        PARTITION pmax VALUES LESS THAN (MAXVALUE)
+        );
+
+-- 완료된 분석 결과의 아카이브 (압축 행 포맷, 파티션 없음)
+CREATE TABLE detection_requests_archive
+(
+    id                 BIGINT      NOT NULL,
+    user_id            BIGINT,
+    original_file_name VARCHAR(255),
+    stored_file_path   VARCHAR(255),
+    created_at         DATETIME(6) NOT NULL,
+    archived_at        DATETIME(6) NOT NULL,
+    label              INT,
+    label_name         VARCHAR(255),
+    state              VARCHAR(255),
+    confidence         DOUBLE,
+    ssim               DOUBLE,
+    lpips              DOUBLE,
+    rm                 DOUBLE,
+    pvr                DOUBLE,
+    heatmap_url        VARCHAR(255),
+    PRIMARY KEY (id),
+    INDEX idx_detection_archive_user_created (user_id, created_at)
+) ENGINE = InnoDB
+  ROW_FORMAT = COMPRESSED;
@@ -0,0 +1,51 @@
+-- 분석 결과를 라벨 코드 + 고정 소수점 정수 컬럼으로 압축
+-- label_name / state 는 라벨 코드에서 결정되므로 DetectionLabel 레지스트리에서 조회한다
+-- 범위를 벗어난 기존 값(통계 없는 모델의 ssim 등)은 DetectionResult 와 같은 범위로 잘라 strict 모드에서도 실패하지 않게 함
+
+ALTER TABLE detection_requests
+    MODIFY label TINYINT,
+    ADD COLUMN confidence_e4 SMALLINT NOT NULL DEFAULT 0,
+    ADD COLUMN ssim_e4       SMALLINT NOT NULL DEFAULT 0,
+    ADD COLUMN lpips_e4      INT      NOT NULL DEFAULT 0,
+    ADD COLUMN rm_e6         INT      NOT NULL DEFAULT 0,
+    ADD COLUMN pvr_e2        SMALLINT NOT NULL DEFAULT 0;
+
+UPDATE detection_requests
+SET confidence_e4 = COALESCE(LEAST(GREATEST(ROUND(confidence * 10000), 0), 10000), 0),
+    ssim_e4       = COALESCE(LEAST(GREATEST(ROUND(ssim * 10000), -10000), 10000), 0),
+    lpips_e4      = COALESCE(LEAST(GREATEST(ROUND(lpips * 10000), 0), 2147483647), 0),
+    rm_e6         = COALESCE(LEAST(GREATEST(ROUND(rm * 1000000), 0), 2147483647), 0),
+    pvr_e2        = COALESCE(LEAST(GREATEST(ROUND(pvr * 100), 0), 10000), 0);
+
+ALTER TABLE detection_requests
+    DROP COLUMN label_name,
+    DROP COLUMN state,
+    DROP COLUMN confidence,
+    DROP COLUMN ssim,
+    DROP COLUMN lpips,
+    DROP COLUMN rm,
+    DROP COLUMN pvr;
+
+ALTER TABLE detection_requests_archive
+    MODIFY label TINYINT,
+    ADD COLUMN confidence_e4 SMALLINT NOT NULL DEFAULT 0,
+    ADD COLUMN ssim_e4       SMALLINT NOT NULL DEFAULT 0,
+    ADD COLUMN lpips_e4      INT      NOT NULL DEFAULT 0,
+    ADD COLUMN rm_e6         INT      NOT NULL DEFAULT 0,
+    ADD COLUMN pvr_e2        SMALLINT NOT NULL DEFAULT 0;
+
+UPDATE detection_requests_archive
+SET confidence_e4 = COALESCE(LEAST(GREATEST(ROUND(confidence * 10000), 0), 10000), 0),
+    ssim_e4       = COALESCE(LEAST(GREATEST(ROUND(ssim * 10000), -10000), 10000), 0),
+    lpips_e4      = COALESCE(LEAST(GREATEST(ROUND(lpips * 10000), 0), 2147483647), 0),
+    rm_e6         = COALESCE(LEAST(GREATEST(ROUND(rm * 1000000), 0), 2147483647), 0),
+    pvr_e2        = COALESCE(LEAST(GREATEST(ROUND(pvr * 100), 0), 10000), 0);
+
+ALTER TABLE detection_requests_archive
+    DROP COLUMN label_name,
+    DROP COLUMN state,
+    DROP COLUMN confidence,
+    DROP COLUMN ssim,
+    DROP COLUMN lpips,
+    DROP COLUMN rm,
+    DROP COLUMN pvr;
@@ -0,0 +1,11 @@
+-- 업로드 재시도를 흡수하기 위한 Idempotency-Key 저장소 (노드 간 공유, 만료 후 삭제)
+CREATE TABLE idempotency_keys
+(
+    id                   VARCHAR(320) NOT NULL, -- {소유자}:{Idempotency-Key}
+    status               ENUM ('IN_PROGRESS', 'COMPLETED') NOT NULL,
+    detection_request_id BIGINT,
+    created_at           DATETIME(6)  NOT NULL,
+    expires_at           DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_idempotency_expires (expires_at)
+) ENGINE = InnoDB;
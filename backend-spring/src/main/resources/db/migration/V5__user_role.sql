@@ -0,0 +1,3 @@
+-- 관리자 전용 API(/api/v1/admin/**) 접근 권한
+ALTER TABLE users
+    ADD COLUMN role ENUM ('USER', 'ADMIN') NOT NULL DEFAULT 'USER';
@@ -0,0 +1,51 @@
+-- 결과를 만든 모델 버전 (기존 행은 알 수 없으므로 NULL)
+ALTER TABLE detection_requests
+    ADD COLUMN model_version VARCHAR(64) NULL;
+
+ALTER TABLE detection_requests_archive
+    ADD COLUMN model_version VARCHAR(64) NULL;
+
+-- 모델 교체 후 재분석 작업 (last_processed_id 가 체크포인트, lease 로 한 노드만 실행)
+CREATE TABLE reanalysis_jobs
+(
+    id                BIGINT       NOT NULL AUTO_INCREMENT,
+    model_version     VARCHAR(64)  NOT NULL,
+    apply_results     BOOLEAN      NOT NULL,
+    status            ENUM ('RUNNING', 'PAUSED', 'COMPLETED') NOT NULL,
+    max_id            BIGINT       NOT NULL, -- 시작 시점의 MAX(id), 이후 행은 새 모델로 분석됨
+    last_processed_id BIGINT       NOT NULL DEFAULT 0,
+    processed         BIGINT       NOT NULL DEFAULT 0,
+    changed           BIGINT       NOT NULL DEFAULT 0,
+    failed            BIGINT       NOT NULL DEFAULT 0,
+    lease_owner       VARCHAR(64)  NULL,
+    lease_expires_at  DATETIME(6)  NULL,
+    created_at        DATETIME(6)  NOT NULL,
+    updated_at        DATETIME(6)  NULL,
+    finished_at       DATETIME(6)  NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+-- 재분석 전/후 결과를 나란히 저장해 비교
+CREATE TABLE reanalysis_results
+(
+    job_id                 BIGINT      NOT NULL,
+    detection_request_id   BIGINT      NOT NULL,
+    previous_model_version VARCHAR(64) NULL,
+    previous_label         TINYINT     NULL,
+    previous_confidence_e4 SMALLINT    NOT NULL,
+    previous_ssim_e4       SMALLINT    NOT NULL,
+    previous_lpips_e4      INT         NOT NULL,
+    previous_rm_e6         INT         NOT NULL,
+    previous_pvr_e2        SMALLINT    NOT NULL,
+    model_version          VARCHAR(64) NULL,
+    label                  TINYINT     NULL,
+    confidence_e4          SMALLINT    NOT NULL,
+    ssim_e4                SMALLINT    NOT NULL,
+    lpips_e4               INT         NOT NULL,
+    rm_e6                  INT         NOT NULL,
+    pvr_e2                 SMALLINT    NOT NULL,
+    label_changed          BOOLEAN     NOT NULL,
+    created_at             DATETIME(6) NOT NULL,
+    PRIMARY KEY (job_id, detection_request_id),
+    INDEX idx_reanalysis_changed (job_id, label_changed, detection_request_id)
+) ENGINE = InnoDB;
@@ -0,0 +1,13 @@
+-- 이력 검색용 커버링 인덱스 (DetectionHistorySpecs 의 조건 컬럼 + 정렬 키만 포함)
+-- 검색 1단계는 (id, created_at) 만 읽으므로 두 인덱스 중 하나로 index-only 로 끝난다
+-- - 라벨 조건이 없으면 user_id + created_at 범위를 역순으로 읽고 나머지 조건은 인덱스 안에서 거름
+-- - 라벨 조건이 하나면 user_id + label 로 좁힌 뒤 created_at 순서 그대로 읽음 (filesort 없음)
+-- id 를 created_at 바로 뒤에 명시해 (created_at DESC, id DESC) keyset 정렬도 인덱스 순서와 같게 한다
+
+ALTER TABLE detection_requests
+    ADD INDEX idx_detection_user_created_filter (user_id, created_at, id, label, confidence_e4, status),
+    ADD INDEX idx_detection_user_label_created (user_id, label, created_at, id, confidence_e4, status);
+
+-- (user_id, created_at) 는 위 인덱스의 앞부분과 같으므로 제거
+ALTER TABLE detection_requests
+    DROP INDEX idx_detection_user_created;
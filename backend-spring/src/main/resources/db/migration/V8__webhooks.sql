@@ -0,0 +1,37 @@
+-- 사용자별 webhook 엔드포인트 (secret 은 HMAC 서명에 원문이 필요하므로 그대로 저장)
+CREATE TABLE webhook_endpoints
+(
+    id              BIGINT        NOT NULL AUTO_INCREMENT,
+    user_id         BIGINT        NOT NULL,
+    url             VARCHAR(2048) NOT NULL,
+    secret          VARCHAR(64)   NOT NULL,
+    max_concurrency INT           NOT NULL, -- 이 엔드포인트로 동시에 보낼 수 있는 배치 수 (전체 노드 합계)
+    created_at      DATETIME(6)   NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_webhook_endpoint_user (user_id),
+    CONSTRAINT fk_webhook_endpoint_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+) ENGINE = InnoDB;
+
+-- 전송 대기열 (분석 결과와 같은 트랜잭션에 저장되어 재시작해도 유실되지 않음)
+-- PENDING -> SENDING(batch_id, locked_until) -> DELIVERED 또는 재시도 후 DEAD
+CREATE TABLE webhook_deliveries
+(
+    id                   BIGINT      NOT NULL AUTO_INCREMENT,
+    endpoint_id          BIGINT      NOT NULL,
+    detection_request_id BIGINT      NOT NULL,
+    event_type           VARCHAR(32) NOT NULL,
+    payload              TEXT        NOT NULL, -- 전송할 이벤트 JSON (enqueue 시점의 결과)
+    status               ENUM ('PENDING', 'SENDING', 'DELIVERED', 'DEAD') NOT NULL,
+    attempts             INT         NOT NULL DEFAULT 0,
+    next_attempt_at      DATETIME(6) NOT NULL,
+    batch_id             VARCHAR(36) NULL,
+    locked_until         DATETIME(6) NULL,
+    last_error           VARCHAR(500) NULL,
+    created_at           DATETIME(6) NOT NULL,
+    delivered_at         DATETIME(6) NULL,
+    PRIMARY KEY (id),
+    INDEX idx_webhook_delivery_due (status, next_attempt_at, endpoint_id),
+    INDEX idx_webhook_delivery_endpoint (endpoint_id, status, id),
+    INDEX idx_webhook_delivery_batch (batch_id),
+    CONSTRAINT fk_webhook_delivery_endpoint FOREIGN KEY (endpoint_id) REFERENCES webhook_endpoints (id) ON DELETE CASCADE
+) ENGINE = InnoDB;
@@ -0,0 +1,6 @@
+-- 키를 SHA-256(소유자 + Idempotency-Key) hex 로 저장 (소유자 이메일 + 키 길이가 컬럼을 넘던 문제)
+-- 이전 형식의 키는 더 이상 조회되지 않으므로 삭제
+DELETE FROM idempotency_keys;
+
+ALTER TABLE idempotency_keys
+    MODIFY id CHAR(64) NOT NULL;
@@ -0,0 +1,101 @@
+package com.aidetector.domain.detection;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AnalysisSchedulerTest {
+
+    private AnalysisScheduler scheduler;
+    private final List<String> executed = Collections.synchronizedList(new ArrayList<>());
+    private final CountDownLatch blockerStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseBlocker = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        scheduler = new AnalysisScheduler(new SimpleMeterRegistry(), 1, 100);
+        scheduler.start();
+
+        // 유일한 실행 슬롯을 점유해 이후 작업이 모두 큐에 쌓이게 함
+        scheduler.submit(AnalysisPriority.AUTHENTICATED, "blocker", () -> {
+            blockerStarted.countDown();
+            await(releaseBlocker);
+            return null;
+        });
+        assertThat(blockerStarted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.stop();
+    }
+
+    @Test
+    void 같은_클래스_안에서는_사용자별로_번갈아_처리한다() {
+        List<CompletableFuture<Object>> futures = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            futures.add(submit(AnalysisPriority.AUTHENTICATED, "heavy", "heavy"));
+        }
+        futures.add(submit(AnalysisPriority.AUTHENTICATED, "light", "light"));
+
+        releaseBlocker.countDown();
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        assertThat(executed.indexOf("light")).isLessThan(2);
+    }
+
+    @Test
+    void 우선순위_클래스는_weight_비율로_처리한다() {
+        List<CompletableFuture<Object>> futures = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            futures.add(submit(AnalysisPriority.AUTHENTICATED, "member-" + i, "AUTHENTICATED"));
+            futures.add(submit(AnalysisPriority.ANONYMOUS, "guest-" + i, "ANONYMOUS"));
+        }
+
+        releaseBlocker.countDown();
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        List<String> firstRound = executed.subList(0, 9);
+        assertThat(firstRound).filteredOn("AUTHENTICATED"::equals).hasSize(6);
+        assertThat(firstRound).filteredOn("ANONYMOUS"::equals).hasSize(3);
+    }
+
+    @Test
+    void 대기_한도를_넘으면_503으로_거절한다() {
+        for (int i = 0; i < 100; i++) {
+            submit(AnalysisPriority.ANONYMOUS, "guest", "ANONYMOUS");
+        }
+
+        CompletableFuture<Object> rejected = submit(AnalysisPriority.ANONYMOUS, "guest", "ANONYMOUS");
+
+        assertThatThrownBy(rejected::join).hasCauseInstanceOf(ResponseStatusException.class);
+        releaseBlocker.countDown();
+    }
+
+    private CompletableFuture<Object> submit(AnalysisPriority priority, String flowKey, String marker) {
+        return scheduler.submit(priority, flowKey, () -> {
+            executed.add(marker);
+            return null;
+        });
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
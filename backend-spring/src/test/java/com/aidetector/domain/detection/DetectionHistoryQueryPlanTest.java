@@ -0,0 +1,210 @@
+package com.aidetector.domain.detection;
+
+import com.aidetector.domain.detection.dto.DetectionHistoryCondition;
+import com.aidetector.domain.detection.dto.DetectionHistoryPageDto;
+import com.aidetector.domain.detection.dto.DetectionResponseDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 이력 검색이 실제로 만드는 SQL 의 실행 계획 검증 (MySQL 컨테이너, Docker 가 없으면 건너뜀).
+ * Connector/J 는 파라미터를 채운 SQL 을 보내므로 performance_schema 의 문장 이력에서
+ * 검색 쿼리를 그대로 꺼내 EXPLAIN 한다.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import(DetectionHistoryService.class)
+@TestPropertySource(properties = "detection.history.count-limit=1000")
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // ANALYZE TABLE 은 암묵적으로 커밋됨
+class DetectionHistoryQueryPlanTest {
+
+    private static final String EMAIL = "plan@test.com";
+    private static final int ROWS = 6000;
+    private static final int PAGE_SIZE = 20;
+    private static final Set<String> HISTORY_INDEXES =
+            Set.of("idx_detection_user_created_filter", "idx_detection_user_label_created");
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:9.3").withUsername("root");
+
+    private static boolean seeded;
+
+    @Autowired
+    private DetectionHistoryService detectionHistoryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void seed() {
+        if (seeded) {
+            return;
+        }
+        jdbcTemplate.update("INSERT INTO users (id, email, password, name, created_at) "
+                + "VALUES (1, ?, 'x', 'plan', NOW(6)), (2, 'other@test.com', 'x', 'other', NOW(6))", EMAIL);
+
+        // 사용자 1 에 4000건, 사용자 2 에 2000건, 약 10개월에 걸쳐 분포
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 1; i <= ROWS; i++) {
+            String status = i % 50 == 0 ? "PROCESSING" : i % 37 == 0 ? "FAILED" : "COMPLETED";
+            boolean analyzed = status.equals("COMPLETED");
+            rows.add(new Object[]{
+                    (long) i,
+                    i % 3 == 0 ? 2L : 1L,
+                    status,
+                    Timestamp.valueOf(now.minusMinutes(70L * i)),
+                    analyzed ? i % 4 : null,
+                    analyzed ? (i * 7919) % 10000 : 0
+            });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO detection_requests (id, user_id, status, created_at, label, confidence_e4) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", rows);
+        jdbcTemplate.execute("ANALYZE TABLE detection_requests");
+        seeded = true;
+    }
+
+    static Stream<Arguments> conditions() {
+        LocalDate today = LocalDate.now();
+        return Stream.of(
+                Arguments.of("조건 없음", DetectionHistoryCondition.none(), true),
+                Arguments.of("상태",
+                        new DetectionHistoryCondition(DetectionStatus.FAILED, null, null, null, null, null, null), true),
+                Arguments.of("라벨 하나",
+                        new DetectionHistoryCondition(null, List.of(DetectionLabel.SLEEK_FAKE), null, null, null, null, null), true),
+                Arguments.of("위험도 여러 개",
+                        new DetectionHistoryCondition(null, null, List.of("Low Risk", "Mid Risk"), null, null, null, null), false),
+                Arguments.of("확신도 범위",
+                        new DetectionHistoryCondition(null, null, null, 0.8, 0.95, null, null), true),
+                Arguments.of("기간",
+                        new DetectionHistoryCondition(null, null, null, null, null, today.minusMonths(3), today.minusMonths(1)), true),
+                Arguments.of("라벨 + 확신도 + 기간",
+                        new DetectionHistoryCondition(DetectionStatus.COMPLETED, List.of(DetectionLabel.FAILURE), null,
+                                0.5, null, today.minusMonths(6), today), true)
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("conditions")
+    void 조건_조합마다_커버링_인덱스만_읽는다(String name, DetectionHistoryCondition condition, boolean sortedByIndex) {
+        List<String> queries = captureIndexQueries(condition, null);
+
+        // 1단계 keyset 조회와 건수 조회
+        assertThat(queries).hasSize(2);
+        for (String sql : queries) {
+            assertIndexOnly(sql, sortedByIndex);
+        }
+    }
+
+    @Test
+    void 다음_페이지도_커버링_인덱스만_읽는다() {
+        DetectionHistoryCondition condition = DetectionHistoryCondition.none();
+        String cursor = detectionHistoryService.search(EMAIL, condition, null, PAGE_SIZE).getNextCursor();
+
+        List<String> queries = captureIndexQueries(condition, cursor);
+
+        // 다음 페이지에서는 건수를 세지 않음
+        assertThat(queries).hasSize(1);
+        assertIndexOnly(queries.get(0), true);
+    }
+
+    @Test
+    void 페이지는_겹치지_않고_건수는_한도에서_근사치가_된다() {
+        DetectionHistoryCondition condition = DetectionHistoryCondition.none();
+
+        DetectionHistoryPageDto first = detectionHistoryService.search(EMAIL, condition, null, PAGE_SIZE);
+        DetectionHistoryPageDto second = detectionHistoryService.search(EMAIL, condition, first.getNextCursor(), PAGE_SIZE);
+
+        Set<Long> ids = new HashSet<>();
+        Stream.concat(first.getItems().stream(), second.getItems().stream())
+                .map(DetectionResponseDto::getId)
+                .forEach(ids::add);
+        assertThat(ids).hasSize(PAGE_SIZE * 2);
+
+        assertThat(first.getTotalCount()).isEqualTo(1000);
+        assertThat(first.isTotalCountApproximate()).isTrue();
+        assertThat(second.getTotalCount()).isNull();
+    }
+
+    @Test
+    void 아카이브로_옮겨진_기록도_이어서_조회된다() {
+        // 시드 데이터(약 10개월)보다 오래되어 아카이브로 옮겨진 기록
+        LocalDateTime archivedCreatedAt = LocalDateTime.now().minusDays(400);
+        jdbcTemplate.update("INSERT IGNORE INTO detection_requests_archive (id, user_id, created_at, archived_at, status, label, confidence_e4) "
+                        + "VALUES (100001, 1, ?, NOW(6), 'COMPLETED', 1, 9000), (100002, 1, ?, NOW(6), 'COMPLETED', 2, 8000)",
+                Timestamp.valueOf(archivedCreatedAt), Timestamp.valueOf(archivedCreatedAt.minusDays(1)));
+
+        LocalDate today = LocalDate.now();
+        DetectionHistoryCondition condition =
+                new DetectionHistoryCondition(null, null, null, null, null, today.minusDays(500), today.minusDays(350));
+        DetectionHistoryPageDto page = detectionHistoryService.search(EMAIL, condition, null, PAGE_SIZE);
+
+        assertThat(page.getItems()).extracting(DetectionResponseDto::getId).containsExactly(100001L, 100002L);
+        assertThat(page.getTotalCount()).isEqualTo(2);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    // 같은 커넥션에서 검색을 실행하고, 인덱스만으로 처리되어야 하는 쿼리(행 조회 제외)를 꺼냄
+    private List<String> captureIndexQueries(DetectionHistoryCondition condition, String cursor) {
+        return transactionTemplate.execute(status -> {
+            Long mark = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(EVENT_ID), 0) "
+                    + "FROM performance_schema.events_statements_history WHERE THREAD_ID = PS_CURRENT_THREAD_ID()", Long.class);
+
+            detectionHistoryService.search(EMAIL, condition, cursor, PAGE_SIZE);
+
+            return jdbcTemplate.queryForList("SELECT SQL_TEXT FROM performance_schema.events_statements_history "
+                            + "WHERE THREAD_ID = PS_CURRENT_THREAD_ID() AND EVENT_ID > ? ORDER BY EVENT_ID", String.class, mark)
+                    .stream()
+                    .filter(sql -> sql.startsWith("select") && sql.contains("from detection_requests "))
+                    .filter(sql -> !sql.contains("stored_file_path"))
+                    .toList();
+        });
+    }
+
+    private void assertIndexOnly(String sql, boolean sortedByIndex) {
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + sql);
+        assertThat(plan).as(sql).hasSize(1);
+
+        Map<String, Object> row = plan.get(0);
+        String extra = String.valueOf(row.get("Extra"));
+        assertThat((String) row.get("key")).as(sql).isIn(HISTORY_INDEXES);
+        assertThat(List.of(extra.split("; "))).as(sql).contains("Using index");
+
+        if (sortedByIndex && sql.contains("order by")) {
+            assertThat(extra).as(sql).doesNotContain("Using filesort");
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.aidetector.domain.detection;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.TestPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * detection_requests insert 가 JDBC 배치로 묶이는지 검증 (MySQL 컨테이너, Docker 가 없으면 건너뜀).
+ * IDENTITY 였다면 행마다 insert 문을 준비/실행하므로 준비된 문장 수가 행 수만큼 나온다.
+ * pooled-lo 테이블 생성기 + batch_size 50 이면 배치마다 한 번, ID 블록(allocationSize 50)마다 생성기 조회/갱신 두 번만 더해진다.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class DetectionInsertBatchingTest {
+
+    private static final int ROWS = 500;
+    private static final int BATCH_SIZE = 50;         // application.yml hibernate.jdbc.batch_size
+    private static final int ALLOCATION_SIZE = 50;    // DetectionRequest @TableGenerator allocationSize
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:9.3").withUsername("root");
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void 여러_건의_insert_가_배치로_묶인다() {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<DetectionRequest> requests = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            DetectionRequest request = DetectionRequest.builder()
+                    .originalFileName("image-" + i + ".png")
+                    .storedFilePath("https://bucket.s3.amazonaws.com/image-" + i + ".png")
+                    .build();
+            entityManager.persist(request);
+            requests.add(request);
+        }
+        entityManager.flush();
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(ROWS);
+        assertThat(requests).extracting(DetectionRequest::getId).doesNotHaveDuplicates();
+
+        // insert 배치 ceil(500/50) = 10번 + ID 블록 10개마다 생성기 select ... for update / update 2번 = 30
+        // (IDENTITY 였다면 행마다 insert 를 준비해 500)
+        int batches = (ROWS + BATCH_SIZE - 1) / BATCH_SIZE;
+        int idBlocks = (ROWS + ALLOCATION_SIZE - 1) / ALLOCATION_SIZE;
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(batches + 2L * idBlocks);
+    }
+}
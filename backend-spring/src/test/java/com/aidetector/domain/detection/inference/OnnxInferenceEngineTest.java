@@ -0,0 +1,96 @@
+package com.aidetector.domain.detection.inference;
+
+import com.aidetector.global.util.S3Service;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ai-server/scripts/make_test_onnx.py 로 만든 작은 모델로 검증.
+ * logits = 채널별 평균(정규화 후) 이므로 가장 강한 색의 채널이 라벨이 되고,
+ * ssim/lpips 출력은 0 이라 메타데이터 stats 의 평균(0.8, 0.2)으로 되돌려져야 한다.
+ */
+class OnnxInferenceEngineTest {
+
+    private static OnnxInferenceEngine engine;
+
+    // url 판정용 S3 stub: 파일 이름의 색으로 단색 이미지를 돌려줌
+    private static final S3Service S3_STUB = new S3Service(null, 1) {
+        @Override
+        public byte[] download(String fileUrl) throws IOException {
+            return solid(fileUrl.endsWith("red.png") ? Color.RED : Color.BLUE);
+        }
+    };
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        engine = new OnnxInferenceEngine(new DefaultResourceLoader(), new ObjectMapper(), S3_STUB,
+                "classpath:onnx/tiny-classifier.onnx", 1, 1);
+    }
+
+    @AfterAll
+    static void tearDown() throws Exception {
+        engine.close();
+    }
+
+    @Test
+    void 가장_강한_채널의_라벨로_판정한다() throws IOException {
+        assertThat(engine.classify(solid(Color.RED)).label()).isEqualTo(0);
+        assertThat(engine.classify(solid(Color.BLUE)).label()).isEqualTo(2);
+    }
+
+    @Test
+    void 정규화된_ssim_lpips_를_메타데이터_통계로_되돌린다() throws IOException {
+        InferenceResult result = engine.classify(solid(Color.RED));
+
+        assertThat(result.ssim()).isEqualTo(0.8);
+        assertThat(result.lpips()).isEqualTo(0.2);
+        assertThat(result.confidence()).isBetween(0.0, 1.0);
+    }
+
+    @Test
+    void 단색_이미지는_잔차가_없다() throws IOException {
+        InferenceResult result = engine.classify(solid(Color.BLUE));
+
+        assertThat(result.rm()).isZero();
+        assertThat(result.pvr()).isZero();
+    }
+
+    @Test
+    void url_로_넘어오면_원본을_받아_같은_결과로_판정한다() throws IOException {
+        InferenceResult fromUrl = engine.classify("https://bucket.s3.amazonaws.com/image_red.png");
+        InferenceResult fromBytes = engine.classify(solid(Color.RED));
+
+        assertThat(fromUrl.label()).isEqualTo(0);
+        assertThat(fromUrl.confidence()).isEqualTo(fromBytes.confidence());
+    }
+
+    @Test
+    void 모델_버전은_ONNX_메타데이터에서_읽는다() {
+        assertThat(engine.getModelVersion()).isEqualTo("tiny-classifier@test");
+        assertThat(engine.prefersImageUrl()).isFalse();
+    }
+
+    private static byte[] solid(Color color) throws IOException {
+        BufferedImage image = new BufferedImage(64, 48, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(color);
+        graphics.fillRect(0, 0, 64, 48);
+        graphics.dispose();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,302 @@
+package com.aidetector.domain.webhook;
+
+import com.aidetector.domain.detection.DetectionRepository;
+import com.aidetector.domain.detection.DetectionRequest;
+import com.aidetector.domain.user.UserRepository;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 디스패처가 MySQL 대기열과 로컬 HTTP 수신 서버(stub) 사이에서 재시도/DEAD/동시 한도/선점 복구를 지키는지 검증
+ * (MySQL 컨테이너, Docker 가 없으면 건너뜀). 백오프를 0 으로 두어 실패한 건이 바로 다시 대기열에 오른다.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import({WebhookBatchClaimer.class, WebhookPublisher.class, WebhookSecretCipher.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@TestPropertySource(properties = {
+        "webhook.dispatch.batch-size=1",
+        "webhook.retry.max-attempts=3",
+        "webhook.retry.initial-backoff=0s"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // 디스패처는 전송마다 별도 스레드/트랜잭션에서 기록
+class WebhookDispatcherTest {
+
+    private static final long USER_ID = 1L;
+    private static final String SECRET = "dispatcher-test-secret";
+    private static final Duration WAIT = Duration.ofSeconds(10);
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:9.3").withUsername("root");
+
+    @Autowired
+    private WebhookBatchClaimer webhookBatchClaimer;
+
+    @Autowired
+    private WebhookPublisher webhookPublisher;
+
+    @Autowired
+    private WebhookSecretCipher webhookSecretCipher;
+
+    @Autowired
+    private WebhookEndpointRepository webhookEndpointRepository;
+
+    @Autowired
+    private WebhookDeliveryRepository webhookDeliveryRepository;
+
+    @Autowired
+    private DetectionRepository detectionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private HttpServer server;
+    private WebhookDispatcher dispatcher;
+
+    // stub 이 돌려줄 상태 코드와, 응답을 붙잡아 두는 래치 (동시 요청 수 측정용)
+    private final AtomicInteger responseStatus = new AtomicInteger(204);
+    private volatile CountDownLatch hold = new CountDownLatch(0);
+    private final AtomicInteger posts = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final AtomicInteger badSignatures = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        jdbcTemplate.update("DELETE FROM webhook_deliveries");
+        jdbcTemplate.update("DELETE FROM webhook_endpoints");
+        jdbcTemplate.update("DELETE FROM detection_requests");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("INSERT INTO users (id, email, password, name, created_at) "
+                + "VALUES (?, 'hook@test.com', 'x', 'hook', NOW(6))", USER_ID);
+
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool()); // 동시 요청을 붙잡아 둘 수 있도록
+        server.createContext("/hook", exchange -> {
+            int current = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(current, Math::max);
+            posts.incrementAndGet();
+            try {
+                String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+                long timestamp = Long.parseLong(exchange.getRequestHeaders().getFirst(WebhookSender.TIMESTAMP_HEADER));
+                String expected = "sha256=" + WebhookSigner.sign(SECRET, timestamp, body);
+                if (!expected.equals(exchange.getRequestHeaders().getFirst(WebhookSender.SIGNATURE_HEADER))) {
+                    badSignatures.incrementAndGet();
+                }
+                hold.await(WAIT.toSeconds(), TimeUnit.SECONDS);
+                exchange.sendResponseHeaders(responseStatus.get(), -1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+                exchange.close();
+            }
+        });
+        server.start();
+
+        WebhookSender sender = new WebhookSender(WebClient.builder(), new WebhookAddressGuard(true), Duration.ofSeconds(5));
+        dispatcher = new WebhookDispatcher(webhookBatchClaimer, webhookDeliveryRepository, sender,
+                new SimpleMeterRegistry(), 100, Duration.ofDays(7));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        hold.countDown();
+        dispatcher.stop();
+        server.stop(0);
+    }
+
+    @Test
+    void 실패하면_다시_보내고_max_attempts_를_넘으면_DEAD_로_남는다() {
+        Long endpointId = createEndpoint(1);
+        Long deliveryId = enqueue(endpointId);
+        responseStatus.set(503);
+
+        for (int attempt = 1; attempt <= 3; attempt++) {
+            dispatchAndWait();
+
+            WebhookDelivery delivery = webhookDeliveryRepository.findById(deliveryId).orElseThrow();
+            assertThat(delivery.getAttempts()).isEqualTo(attempt);
+            assertThat(delivery.getLastError()).contains("503");
+            assertThat(delivery.getStatus())
+                    .isEqualTo(attempt < 3 ? WebhookDeliveryStatus.PENDING : WebhookDeliveryStatus.DEAD);
+        }
+
+        // DEAD 건은 더 이상 보내지 않음
+        dispatchAndWait();
+        assertThat(posts.get()).isEqualTo(3);
+        assertThat(badSignatures.get()).isZero();
+    }
+
+    @Test
+    void DEAD_건을_재전송하면_처음부터_다시_보낸다() {
+        Long endpointId = createEndpoint(1);
+        Long deliveryId = enqueue(endpointId);
+        responseStatus.set(500);
+        for (int attempt = 1; attempt <= 3; attempt++) {
+            dispatchAndWait();
+        }
+        assertThat(webhookDeliveryRepository.findById(deliveryId).orElseThrow().getStatus())
+                .isEqualTo(WebhookDeliveryStatus.DEAD);
+
+        responseStatus.set(204);
+        assertThat(webhookDeliveryRepository.requeueDeadLetters(endpointId, LocalDateTime.now())).isEqualTo(1);
+        dispatchAndWait();
+
+        WebhookDelivery delivery = webhookDeliveryRepository.findById(deliveryId).orElseThrow();
+        assertThat(delivery.getStatus()).isEqualTo(WebhookDeliveryStatus.DELIVERED);
+        assertThat(delivery.getAttempts()).isEqualTo(1);
+    }
+
+    @Test
+    void 엔드포인트로_동시에_보내는_배치는_maxConcurrency_를_넘지_않는다() {
+        Long endpointId = createEndpoint(2);
+        for (int i = 0; i < 6; i++) {
+            enqueue(endpointId);
+        }
+        hold = new CountDownLatch(1);
+
+        // 한도만큼 선점한 뒤에는 다시 돌려도 더 꺼내지 않음
+        dispatcher.dispatch();
+        dispatcher.dispatch();
+        await(() -> inFlight.get() == 2);
+        assertThat(countByStatus(WebhookDeliveryStatus.SENDING)).isEqualTo(2);
+        assertThat(countByStatus(WebhookDeliveryStatus.PENDING)).isEqualTo(4);
+
+        hold.countDown();
+        while (countByStatus(WebhookDeliveryStatus.DELIVERED) < 6) {
+            dispatchAndWait();
+        }
+
+        assertThat(posts.get()).isEqualTo(6);
+        assertThat(maxInFlight.get()).isEqualTo(2);
+    }
+
+    @Test
+    void 선점이_만료된_건은_대기열로_돌아가_다시_보내진다() {
+        Long endpointId = createEndpoint(1);
+        Long deliveryId = enqueue(endpointId);
+
+        // 전송 도중 노드가 죽은 상태: SENDING 으로 선점됐지만 lease 가 지남
+        jdbcTemplate.update("UPDATE webhook_deliveries SET status = 'SENDING', batch_id = 'dead-node', "
+                + "locked_until = ? WHERE id = ?", LocalDateTime.now().minusMinutes(1), deliveryId);
+
+        dispatchAndWait();
+
+        WebhookDelivery delivery = webhookDeliveryRepository.findById(deliveryId).orElseThrow();
+        assertThat(delivery.getStatus()).isEqualTo(WebhookDeliveryStatus.DELIVERED);
+        assertThat(delivery.getAttempts()).isEqualTo(1);
+        assertThat(posts.get()).isEqualTo(1);
+    }
+
+    @Test
+    void 분석_트랜잭션이_롤백되면_전송_건도_남지_않는다() {
+        createEndpoint(1);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            webhookPublisher.publishCompleted(saveDetection());
+            status.setRollbackOnly();
+        });
+        assertThat(webhookDeliveryRepository.count()).isZero();
+
+        transactionTemplate.executeWithoutResult(status -> webhookPublisher.publishCompleted(saveDetection()));
+        assertThat(webhookDeliveryRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void secret_은_암호화되어_저장된다() {
+        Long endpointId = createEndpoint(1);
+
+        String stored = jdbcTemplate.queryForObject("SELECT secret FROM webhook_endpoints WHERE id = ?",
+                String.class, endpointId);
+        assertThat(stored).startsWith(WebhookSecretCipher.PREFIX).doesNotContain(SECRET);
+        assertThat(webhookSecretCipher.decrypt(stored)).isEqualTo(SECRET);
+    }
+
+    private Long createEndpoint(int maxConcurrency) {
+        String url = "http://localhost:" + server.getAddress().getPort() + "/hook";
+        return webhookEndpointRepository.save(
+                new WebhookEndpoint(USER_ID, url, webhookSecretCipher.encrypt(SECRET), maxConcurrency)).getId();
+    }
+
+    private Long enqueue(Long endpointId) {
+        return webhookDeliveryRepository.save(new WebhookDelivery(endpointId, 1L,
+                WebhookEventType.DETECTION_COMPLETED, "{\"eventId\":\"e\"}")).getId();
+    }
+
+    private DetectionRequest saveDetection() {
+        return detectionRepository.save(DetectionRequest.builder()
+                .user(userRepository.findById(USER_ID).orElseThrow())
+                .originalFileName("a.png")
+                .storedFilePath("https://bucket.s3.amazonaws.com/a.png")
+                .build());
+    }
+
+    // 한 주기를 돌리고, 선점된 배치의 전송 결과가 기록될 때까지 대기
+    private void dispatchAndWait() {
+        dispatcher.dispatch();
+        await(() -> countByStatus(WebhookDeliveryStatus.SENDING) == 0);
+    }
+
+    private long countByStatus(WebhookDeliveryStatus status) {
+        List<Long> counts = jdbcTemplate.queryForList(
+                "SELECT COUNT(*) FROM webhook_deliveries WHERE status = ?", Long.class, status.name());
+        return counts.get(0);
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + WAIT.toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("조건을 " + WAIT + " 안에 만족하지 못했습니다.");
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+}
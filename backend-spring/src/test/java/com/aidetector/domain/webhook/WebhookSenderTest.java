@@ -0,0 +1,115 @@
+package com.aidetector.domain.webhook;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 로컬 HTTP 수신 서버(stub)로 배치 전송과 서명을 검증
+class WebhookSenderTest {
+
+    private static final String SECRET = "test-secret";
+
+    private HttpServer server;
+    private final AtomicInteger responseStatus = new AtomicInteger(204);
+    private final Map<String, String> received = new ConcurrentHashMap<>();
+
+    private WebhookSender sender;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/hook", exchange -> {
+            received.put("body", new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            received.put("contentType", exchange.getRequestHeaders().getFirst("Content-Type"));
+            received.put("id", exchange.getRequestHeaders().getFirst(WebhookSender.ID_HEADER));
+            received.put("timestamp", exchange.getRequestHeaders().getFirst(WebhookSender.TIMESTAMP_HEADER));
+            received.put("signature", exchange.getRequestHeaders().getFirst(WebhookSender.SIGNATURE_HEADER));
+            exchange.sendResponseHeaders(responseStatus.get(), -1);
+            exchange.close();
+        });
+        server.start();
+
+        sender = new WebhookSender(WebClient.builder(), new WebhookAddressGuard(true), Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void 여러_이벤트를_한_번에_서명해서_보낸다() {
+        WebhookBatch batch = batch(List.of("{\"eventId\":\"a\"}", "{\"eventId\":\"b\"}"));
+
+        sender.send(batch);
+
+        String body = received.get("body");
+        assertThat(body).isEqualTo("{\"events\":[{\"eventId\":\"a\"},{\"eventId\":\"b\"}]}");
+        assertThat(received.get("contentType")).startsWith("application/json");
+        assertThat(received.get("id")).isEqualTo(batch.batchId());
+
+        // 수신 측과 같은 방식으로 서명을 다시 계산
+        long timestamp = Long.parseLong(received.get("timestamp"));
+        assertThat(received.get("signature")).isEqualTo("sha256=" + WebhookSigner.sign(SECRET, timestamp, body));
+    }
+
+    @Test
+    void 본문이_바뀌면_서명이_달라진다() {
+        assertThat(WebhookSigner.sign(SECRET, 1L, "{\"events\":[]}"))
+                .isNotEqualTo(WebhookSigner.sign(SECRET, 1L, "{\"events\":[{}]}"))
+                .isNotEqualTo(WebhookSigner.sign(SECRET, 2L, "{\"events\":[]}"))
+                .isNotEqualTo(WebhookSigner.sign("other-secret", 1L, "{\"events\":[]}"));
+    }
+
+    @Test
+    void 성공_응답이_아니면_예외로_재시도_대상이_된다() {
+        responseStatus.set(503);
+
+        assertThatThrownBy(() -> sender.send(batch(List.of("{}"))))
+                .isInstanceOf(WebClientResponseException.ServiceUnavailable.class);
+    }
+
+    @Test
+    void 내부망_주소로는_연결하지_않는다() {
+        WebhookSender guarded = new WebhookSender(WebClient.builder(), new WebhookAddressGuard(false), Duration.ofSeconds(5));
+
+        assertThatThrownBy(() -> guarded.send(batch(List.of("{}"))))
+                .satisfies(e -> assertThat(NestedExceptionUtils.getMostSpecificCause(e))
+                        .isInstanceOf(IllegalArgumentException.class));
+        assertThat(received).isEmpty();
+    }
+
+    @Test
+    void 공개_주소만_허용한다() throws UnknownHostException {
+        assertThat(WebhookAddressGuard.isPublic(InetAddress.getByName("93.184.215.14"))).isTrue();
+        assertThat(WebhookAddressGuard.isPublic(InetAddress.getByName("2606:4700::1111"))).isTrue();
+
+        for (String address : List.of("127.0.0.1", "10.0.0.1", "172.16.0.1", "192.168.0.1", "169.254.169.254",
+                "100.64.0.1", "0.0.0.0", "::1", "fe80::1", "fd00::1", "::ffff:10.0.0.1", "64:ff9b::a9fe:a9fe")) {
+            assertThat(WebhookAddressGuard.isPublic(InetAddress.getByName(address))).as(address).isFalse();
+        }
+    }
+
+    private WebhookBatch batch(List<String> payloads) {
+        String url = "http://localhost:" + server.getAddress().getPort() + "/hook";
+        return new WebhookBatch("batch-1", 1L, url, SECRET, payloads);
+    }
+}
@@ -50,7 +50,7 @@ export default function HistoryPage() {
     setLoadingHistory(true);
     setErrorMessage("");
     try {
-      const historyResponse = await getDetectionHistory();
+      const { items: historyResponse } = await getDetectionHistory({ size: 100 });
       setHistory(historyResponse);
       setSelected((prev) => {
         if (!prev) return historyResponse[0] ?? null;
@@ -259,7 +259,7 @@ export default function HistoryPage() {
                         </p>
                         {/* eslint-disable-next-line @next/next/no-img-element */}
                         <img
-                          src={selected.heatmapImageUrl}
+                          src={selected.heatmapImageUrl ?? undefined}
                           alt="Heatmap"
                           className="h-72 w-full rounded-lg border border-border bg-white object-contain"
                         />
@@ -1,7 +1,7 @@
 "use client";
 
 import NavBar from "@/components/nav-bar";
-import { uploadDetectionImage } from "@/lib/api";
+import { getDetectionHeatmap, uploadDetectionImage } from "@/lib/api";
 import { getAccessToken, subscribeAuth } from "@/lib/auth";
 import type { DetectionResponse } from "@/lib/types";
 import axios from "axios";
@@ -86,6 +86,21 @@ export default function Home() {
     try {
       const uploadResponse = await uploadDetectionImage(file);
       setResult(uploadResponse);
+
+      // 히트맵은 판정 이후 별도로 생성되므로 결과를 먼저 보여주고 이어서 채움
+      if (!uploadResponse.heatmapImageUrl) {
+        getDetectionHeatmap(uploadResponse.id, uploadResponse.accessToken)
+          .then((heatmap) => {
+            setResult((prev) =>
+              prev && prev.id === heatmap.id
+                ? { ...prev, heatmapImageUrl: heatmap.heatmapImageUrl }
+                : prev,
+            );
+          })
+          .catch(() => {
+            // 히트맵 생성 실패는 판정 결과 표시에 영향을 주지 않음
+          });
+      }
     } catch (error) {
       if (axios.isAxiosError(error) && error.response?.status === 401) {
         setErrorMessage("인증 오류가 발생했습니다. 다시 시도해주세요.");
@@ -355,7 +370,7 @@ export default function Home() {
                       </p>
                       {/* eslint-disable-next-line @next/next/no-img-element */}
                       <img
-                        src={result.heatmapImageUrl}
+                        src={result.heatmapImageUrl ?? undefined}
                         alt="Heatmap"
                         className="h-[360px] w-full rounded-xl border border-border bg-slate-100 object-contain"
                       />
@@ -1,7 +1,9 @@
 import axios from "axios";
 import { getAccessToken } from "@/lib/auth";
 import type {
+  DetectionHistoryPage,
   DetectionResponse,
+  HeatmapResponse,
   LoginRequest,
   SignupRequest,
   TokenResponse,
@@ -50,8 +52,8 @@ export async function uploadDetectionImage(file: File) {
   return response.data;
 }
 
-export async function getDetectionHistory() {
-  const response = await api.get<DetectionResponse[]>("/api/v1/detection/history");
+export async function getDetectionHistory(params?: { cursor?: string; size?: number }) {
+  const response = await api.get<DetectionHistoryPage>("/api/v1/detection/history", { params });
   return response.data;
 }
 
@@ -60,6 +62,14 @@ export async function getDetectionDetail(requestId: number) {
   return response.data;
 }
 
+// 비회원 분석 결과는 업로드 응답의 accessToken 이 있어야 조회 가능
+export async function getDetectionHeatmap(requestId: number, accessToken?: string) {
+  const response = await api.get<HeatmapResponse>(`/api/v1/detection/${requestId}/heatmap`, {
+    headers: accessToken ? { "X-Result-Token": accessToken } : undefined,
+  });
+  return response.data;
+}
+
 export async function deleteDetectionHistory(requestId: number) {
   await api.delete(`/api/v1/detection/history/${requestId}`);
 }
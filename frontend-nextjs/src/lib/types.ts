@@ -23,6 +23,19 @@ export interface DetectionResponse {
   rm: number | null;
   pvr: number | null;
   originalImageUrl: string;
+  heatmapImageUrl: string | null;
+  accessToken?: string;
+}
+
+export interface DetectionHistoryPage {
+  items: DetectionResponse[];
+  totalCount: number | null;
+  totalCountApproximate: boolean;
+  nextCursor: string | null;
+}
+
+export interface HeatmapResponse {
+  id: number;
   heatmapImageUrl: string;
 }
 